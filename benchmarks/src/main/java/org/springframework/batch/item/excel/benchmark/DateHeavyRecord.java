@@ -0,0 +1,48 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.batch.item.excel.benchmark;
+
+import java.util.Date;
+
+/**
+ * Record of which most fields are dates, written by the {@link ExcelItemWriterBenchmark}.
+ */
+public class DateHeavyRecord {
+
+    private static final long DAY = 24 * 60 * 60 * 1000L;
+
+    private static final long START = 1388534400000L; // 2014-01-01
+
+    private long id;
+    private Date ordered;
+    private Date confirmed;
+    private Date shipped;
+    private Date delivered;
+    private Date invoiced;
+    private Date paid;
+
+    public DateHeavyRecord(final int row) {
+        final long ordered = START + (row % 1000) * DAY;
+        this.id = row;
+        this.ordered = new Date(ordered);
+        this.confirmed = new Date(ordered + DAY);
+        this.shipped = new Date(ordered + 2 * DAY);
+        this.delivered = new Date(ordered + 5 * DAY);
+        this.invoiced = new Date(ordered + 6 * DAY);
+        this.paid = new Date(ordered + 30 * DAY);
+    }
+}
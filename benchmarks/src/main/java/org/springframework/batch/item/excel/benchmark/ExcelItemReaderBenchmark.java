@@ -0,0 +1,189 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.batch.item.excel.benchmark;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.excel.AbstractExcelItemReader;
+import org.springframework.batch.item.excel.RowMapper;
+import org.springframework.batch.item.excel.benchmark.WorkbookGenerator.Format;
+import org.springframework.batch.item.excel.jxl.JxlItemReader;
+import org.springframework.batch.item.excel.mapping.DefaultRowMapper;
+import org.springframework.batch.item.excel.mapping.FieldRowMapper;
+import org.springframework.batch.item.excel.mapping.PassThroughRowMapper;
+import org.springframework.batch.item.excel.poi.PoiItemReader;
+import org.springframework.batch.item.excel.poi.StreamingXlsItemReader;
+import org.springframework.batch.item.excel.poi.StreamingXlsxItemReader;
+import org.springframework.batch.item.file.mapping.BeanWrapperFieldSetMapper;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads a complete generated workbook per operation, for each combination of reader, row mapper, number of rows and
+ * schema. Besides the time per workbook the <code>rows</code> counter reports the number of rows read per second.
+ * Run with <code>-prof gc</code> to report the allocation rate, and select a subset with <code>-p</code>:
+ *
+ * <pre>
+ * java -jar benchmarks/target/benchmarks.jar ExcelItemReaderBenchmark -p rows=10000 -p mapping=PASS_THROUGH -prof gc
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ExcelItemReaderBenchmark {
+
+    public enum Engine {
+        POI_XLS(Format.XLS) {
+            AbstractExcelItemReader<Object> createReader() {
+                return new PoiItemReader<Object>();
+            }
+        },
+        POI_XLSX(Format.XLSX) {
+            AbstractExcelItemReader<Object> createReader() {
+                return new PoiItemReader<Object>();
+            }
+        },
+        JXL(Format.XLS) {
+            AbstractExcelItemReader<Object> createReader() {
+                return new JxlItemReader<Object>();
+            }
+        },
+        STREAMING_XLS(Format.XLS) {
+            AbstractExcelItemReader<Object> createReader() {
+                return new StreamingXlsItemReader<Object>();
+            }
+        },
+        STREAMING_XLSX(Format.XLSX) {
+            AbstractExcelItemReader<Object> createReader() {
+                return new StreamingXlsxItemReader<Object>();
+            }
+        };
+
+        private final Format format;
+
+        Engine(final Format format) {
+            this.format = format;
+        }
+
+        abstract AbstractExcelItemReader<Object> createReader();
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public enum Mapping {
+        PASS_THROUGH {
+            RowMapper<Object> createRowMapper(final Schema schema) {
+                return (RowMapper) new PassThroughRowMapper();
+            }
+        },
+        DEFAULT_FIELD_SET_MAPPER {
+            RowMapper<Object> createRowMapper(final Schema schema) {
+                return new DefaultRowMapper<Object>((Class<Object>) schema.getRecordType());
+            }
+        },
+        BEAN_WRAPPER_FIELD_SET_MAPPER {
+            RowMapper<Object> createRowMapper(final Schema schema) throws Exception {
+                final BeanWrapperFieldSetMapper<Object> fieldSetMapper = new BeanWrapperFieldSetMapper<Object>();
+                fieldSetMapper.setTargetType((Class<Object>) schema.getRecordType());
+                fieldSetMapper.afterPropertiesSet();
+                final DefaultRowMapper<Object> rowMapper = new DefaultRowMapper<Object>();
+                rowMapper.setFieldSetMapper(fieldSetMapper);
+                return rowMapper;
+            }
+        },
+        FIELD_ROW_MAPPER {
+            RowMapper<Object> createRowMapper(final Schema schema) throws Exception {
+                final FieldRowMapper<Object> rowMapper = new FieldRowMapper<Object>(
+                        (Class<Object>) schema.getRecordType());
+                rowMapper.afterPropertiesSet();
+                return rowMapper;
+            }
+        };
+
+        abstract RowMapper<Object> createRowMapper(Schema schema) throws Exception;
+    }
+
+    /**
+     * Counts the rows which have been read, reported by JMH as rows per second.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class RowCounter {
+
+        public long rows;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            this.rows = 0;
+        }
+    }
+
+    @Param({"POI_XLS", "POI_XLSX", "JXL", "STREAMING_XLS", "STREAMING_XLSX"})
+    public Engine engine;
+
+    @Param({"PASS_THROUGH", "DEFAULT_FIELD_SET_MAPPER", "BEAN_WRAPPER_FIELD_SET_MAPPER", "FIELD_ROW_MAPPER"})
+    public Mapping mapping;
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    @Param({"NARROW", "WIDE"})
+    public Schema schema;
+
+    private Resource resource;
+
+    @Setup(Level.Trial)
+    public void generateWorkbook() throws Exception {
+        this.resource = new FileSystemResource(WorkbookGenerator.generate(this.engine.format, this.schema, this.rows));
+    }
+
+    @Benchmark
+    public void read(final RowCounter counter, final Blackhole blackhole) throws Exception {
+        final AbstractExcelItemReader<Object> reader = this.engine.createReader();
+        reader.setLinesToSkip(1);
+        reader.setResource(this.resource);
+        reader.setRowMapper(this.mapping.createRowMapper(this.schema));
+        reader.afterPropertiesSet();
+        reader.open(new ExecutionContext());
+        try {
+            Object item;
+            while ((item = reader.read()) != null) {
+                blackhole.consume(item);
+                counter.rows++;
+            }
+        } finally {
+            reader.close();
+        }
+    }
+}
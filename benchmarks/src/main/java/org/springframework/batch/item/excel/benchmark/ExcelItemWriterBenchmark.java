@@ -0,0 +1,135 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.batch.item.excel.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.excel.benchmark.WorkbookGenerator.Format;
+import org.springframework.batch.item.excel.transform.DefaultExcelItemWriter;
+import org.springframework.core.io.FileSystemResource;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes {@value #ROWS} items per invocation, in chunks of the given size, with the {@link DefaultExcelItemWriter}.
+ * The results are per row: the time per row and, with <code>-prof gc</code>, the bytes allocated per row
+ * (<code>gc.alloc.rate.norm</code>).
+ *
+ * <pre>
+ * java -jar benchmarks/target/benchmarks.jar ExcelItemWriterBenchmark -p format=XLSX -prof gc
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@OperationsPerInvocation(ExcelItemWriterBenchmark.ROWS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ExcelItemWriterBenchmark {
+
+    static final int ROWS = 10000;
+
+    public enum Beans {
+        DATES {
+            Object create(final int row) {
+                return new DateHeavyRecord(row);
+            }
+        },
+        STRINGS {
+            Object create(final int row) {
+                return new StringHeavyRecord(row);
+            }
+        };
+
+        abstract Object create(int row);
+    }
+
+    public enum ColumnWidths {
+        /** The default width. */
+        NONE,
+        /** Estimated from the length of the text. */
+        ESTIMATED,
+        /** Measured with the font metrics by POI. */
+        EXACT
+    }
+
+    @Param({"XLS", "XLSX"})
+    public Format format;
+
+    @Param({"100", "1000", "10000"})
+    public int chunkSize;
+
+    @Param({"DATES", "STRINGS"})
+    public Beans beans;
+
+    @Param({"NONE", "ESTIMATED", "EXACT"})
+    public ColumnWidths columnWidths;
+
+    private List<Object> items;
+
+    private File file;
+
+    @Setup(Level.Trial)
+    public void createItems() throws IOException {
+        this.items = new ArrayList<Object>(ROWS);
+        for (int row = 0; row < ROWS; row++) {
+            this.items.add(this.beans.create(row));
+        }
+        this.file = File.createTempFile("spring-batch-excel-benchmark", "." + this.format.getExtension());
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFile() {
+        this.file.delete();
+    }
+
+    @Benchmark
+    public long write() throws Exception {
+        final DefaultExcelItemWriter<Object> writer = new DefaultExcelItemWriter<Object>();
+        writer.setOutputExtension(this.format.getExtension());
+        writer.setAutoSizeColumns(this.columnWidths != ColumnWidths.NONE);
+        writer.setExactAutoSize(this.columnWidths == ColumnWidths.EXACT);
+        writer.setResource(new FileSystemResource(this.file));
+        writer.open(new ExecutionContext());
+        try {
+            for (int row = 0; row < ROWS; row += this.chunkSize) {
+                writer.write(this.items.subList(row, Math.min(row + this.chunkSize, ROWS)));
+            }
+        } finally {
+            writer.close();
+        }
+        return this.file.length();
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.batch.item.excel.benchmark;
+
+/**
+ * The columns of the generated workbooks. The columns are groups of a text, a label (one of a few repeated values), a
+ * quantity, a price and a flag, named after their group: <code>text0, label0, quantity0, price0, active0, text1,
+ * ...</code>. The record types have a property for each column.
+ */
+public enum Schema {
+
+    /** A single group of 5 columns. */
+    NARROW(1, NarrowRecord.class),
+
+    /** 6 groups, 30 columns. */
+    WIDE(6, WideRecord.class);
+
+    private static final String[] COLUMNS = {"text", "label", "quantity", "price", "active"};
+
+    private static final String[] LABELS = {"NEW", "OPEN", "PENDING", "APPROVED", "REJECTED", "SHIPPED", "INVOICED",
+            "CLOSED"};
+
+    private final int groups;
+
+    private final Class<?> recordType;
+
+    Schema(final int groups, final Class<?> recordType) {
+        this.groups = groups;
+        this.recordType = recordType;
+    }
+
+    public int getNumberOfColumns() {
+        return this.groups * COLUMNS.length;
+    }
+
+    public String getColumnName(final int column) {
+        return COLUMNS[column % COLUMNS.length] + (column / COLUMNS.length);
+    }
+
+    /**
+     * Get the value of the given cell: a {@link String}, {@link Double} or {@link Boolean}.
+     */
+    public Object getValue(final int row, final int column) {
+        switch (column % COLUMNS.length) {
+            case 0:
+                return "id-" + row + "-" + (column / COLUMNS.length);
+            case 1:
+                return LABELS[(row + column) % LABELS.length];
+            case 2:
+                return (double) (row % 1000);
+            case 3:
+                return (row % 100000) / 100.0;
+            default:
+                return (row % 2) == 0;
+        }
+    }
+
+    public Class<?> getRecordType() {
+        return this.recordType;
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.batch.item.excel.benchmark;
+
+/**
+ * Record of which most fields are strings, written by the {@link ExcelItemWriterBenchmark}.
+ */
+public class StringHeavyRecord {
+
+    private static final String[] CITIES = {"Amsterdam", "Berlin", "Lisbon", "Madrid", "Paris", "Rome", "Vienna",
+            "Warsaw"};
+
+    private long id;
+    private String reference;
+    private String name;
+    private String email;
+    private String street;
+    private String city;
+    private String remarks;
+
+    public StringHeavyRecord(final int row) {
+        this.id = row;
+        this.reference = "REF-" + row;
+        this.name = "Customer " + row;
+        this.email = "customer" + row + "@example.com";
+        this.street = "Main Street " + (row % 500);
+        this.city = CITIES[row % CITIES.length];
+        this.remarks = (row % 3 == 0) ? "Deliver between 9:00 and 17:00, ring twice" : "";
+    }
+}
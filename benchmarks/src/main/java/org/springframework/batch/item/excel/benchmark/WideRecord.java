@@ -0,0 +1,59 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.batch.item.excel.benchmark;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Record with a property for each column of the {@link Schema#WIDE wide} schema.
+ */
+@Getter
+@Setter
+public class WideRecord {
+
+    private String text0;
+    private String label0;
+    private int quantity0;
+    private double price0;
+    private boolean active0;
+    private String text1;
+    private String label1;
+    private int quantity1;
+    private double price1;
+    private boolean active1;
+    private String text2;
+    private String label2;
+    private int quantity2;
+    private double price2;
+    private boolean active2;
+    private String text3;
+    private String label3;
+    private int quantity3;
+    private double price3;
+    private boolean active3;
+    private String text4;
+    private String label4;
+    private int quantity4;
+    private double price4;
+    private boolean active4;
+    private String text5;
+    private String label5;
+    private int quantity5;
+    private double price5;
+    private boolean active5;
+}
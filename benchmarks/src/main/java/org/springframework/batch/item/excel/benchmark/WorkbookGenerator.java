@@ -0,0 +1,161 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.batch.item.excel.benchmark;
+
+import jxl.WorkbookSettings;
+import jxl.write.Label;
+import jxl.write.WritableSheet;
+import jxl.write.WritableWorkbook;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Generates the workbooks which are read by the benchmarks. Workbooks are generated once and kept in the directory
+ * given by the <code>benchmark.workbooks</code> system property (a directory in the temporary directory by default),
+ * as generating the larger workbooks takes longer than reading them.
+ *
+ * <p>The first row of each sheet contains the column names. An xls sheet holds at most 65536 rows, larger xls
+ * workbooks are split over multiple sheets.</p>
+ */
+public final class WorkbookGenerator {
+
+    public static final String DIRECTORY_PROPERTY = "benchmark.workbooks";
+
+    /** The number of rows, besides the header, which fit in an xls sheet. */
+    static final int XLS_ROWS_PER_SHEET = 65535;
+
+    public enum Format {
+        XLS, XLSX;
+
+        public String getExtension() {
+            return this.name().toLowerCase();
+        }
+    }
+
+    private WorkbookGenerator() {
+        super();
+    }
+
+    /**
+     * Get the workbook with the given format, schema and number of rows, generating it when it doesn't exist yet.
+     *
+     * @param format the format of the workbook
+     * @param schema the columns of the workbook
+     * @param rows the number of rows, not counting the headers
+     * @return the file containing the workbook
+     * @throws Exception when the workbook can't be generated
+     */
+    public static synchronized File generate(final Format format, final Schema schema, final int rows)
+            throws Exception {
+        final File directory = new File(System.getProperty(DIRECTORY_PROPERTY,
+                new File(System.getProperty("java.io.tmpdir"), "spring-batch-excel-benchmarks").getPath()));
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Unable to create directory [" + directory + "]");
+        }
+        final String name = schema.name().toLowerCase() + "-" + rows + "." + format.getExtension();
+        final File file = new File(directory, name);
+        if (file.isFile()) {
+            return file;
+        }
+        // generate into a temporary file, so an interrupted run doesn't leave an incomplete workbook behind
+        final File generated = new File(directory, name + ".tmp");
+        if (format == Format.XLS) {
+            writeXls(generated, schema, rows);
+        } else {
+            writeXlsx(generated, schema, rows);
+        }
+        if (!generated.renameTo(file)) {
+            throw new IOException("Unable to rename [" + generated + "] to [" + file + "]");
+        }
+        return file;
+    }
+
+    /**
+     * Write the xls workbook with JXL, which (unlike HSSF) can use a temporary file instead of keeping all the cells
+     * in memory.
+     */
+    private static void writeXls(final File file, final Schema schema, final int rows) throws Exception {
+        final WorkbookSettings settings = new WorkbookSettings();
+        settings.setUseTemporaryFileDuringWrite(true);
+        final WritableWorkbook workbook = jxl.Workbook.createWorkbook(file, settings);
+        try {
+            int row = 0;
+            for (int sheetIndex = 0; row < rows; sheetIndex++) {
+                final WritableSheet sheet = workbook.createSheet("data" + sheetIndex, sheetIndex);
+                for (int column = 0; column < schema.getNumberOfColumns(); column++) {
+                    sheet.addCell(new Label(column, 0, schema.getColumnName(column)));
+                }
+                for (int r = 1; r <= XLS_ROWS_PER_SHEET && row < rows; r++, row++) {
+                    for (int column = 0; column < schema.getNumberOfColumns(); column++) {
+                        final Object value = schema.getValue(row, column);
+                        if (value instanceof Double) {
+                            sheet.addCell(new jxl.write.Number(column, r, (Double) value));
+                        } else if (value instanceof Boolean) {
+                            sheet.addCell(new jxl.write.Boolean(column, r, (Boolean) value));
+                        } else {
+                            sheet.addCell(new Label(column, r, (String) value));
+                        }
+                    }
+                }
+            }
+            workbook.write();
+        } finally {
+            workbook.close();
+        }
+    }
+
+    /**
+     * Write the xlsx workbook with SXSSF, which keeps a window of rows in memory.
+     */
+    private static void writeXlsx(final File file, final Schema schema, final int rows) throws Exception {
+        final SXSSFWorkbook workbook = new SXSSFWorkbook(100);
+        try {
+            final Sheet sheet = workbook.createSheet("data0");
+            final Row header = sheet.createRow(0);
+            for (int column = 0; column < schema.getNumberOfColumns(); column++) {
+                header.createCell(column).setCellValue(schema.getColumnName(column));
+            }
+            for (int row = 0; row < rows; row++) {
+                final Row cells = sheet.createRow(row + 1);
+                for (int column = 0; column < schema.getNumberOfColumns(); column++) {
+                    final Object value = schema.getValue(row, column);
+                    if (value instanceof Double) {
+                        cells.createCell(column).setCellValue((Double) value);
+                    } else if (value instanceof Boolean) {
+                        cells.createCell(column).setCellValue((Boolean) value);
+                    } else {
+                        cells.createCell(column).setCellValue((String) value);
+                    }
+                }
+            }
+            final OutputStream out = new FileOutputStream(file);
+            try {
+                workbook.write(out);
+            } finally {
+                out.close();
+            }
+        } finally {
+            workbook.dispose();
+        }
+    }
+}
@@ -17,18 +17,29 @@ package org.springframework.batch.item.excel;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.springframework.batch.item.ExecutionContext;
 import org.springframework.batch.item.ItemReader;
+import org.springframework.batch.item.ItemStreamException;
 import org.springframework.batch.item.file.ResourceAwareItemReaderItemStream;
 import org.springframework.batch.item.support.AbstractItemCountingItemStreamItemReader;
 import org.springframework.beans.factory.InitializingBean;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
-import org.springframework.util.ObjectUtils;
+import org.springframework.util.FileCopyUtils;
 import org.springframework.util.StringUtils;
 
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 /**
  * {@link ItemReader} implementation which uses the JExcelApi to read an Excel
@@ -41,15 +52,45 @@ import java.io.InputStream;
 public abstract class AbstractExcelItemReader<T> extends AbstractItemCountingItemStreamItemReader<T> implements
         ResourceAwareItemReaderItemStream<T>, InitializingBean {
 
+    private static final String CURRENT_SHEET = "current.sheet";
+    private static final String CURRENT_ROW = "current.row";
+
+    /** The default size above which non file resources are copied to a temporary file, 10MB. */
+    public static final long DEFAULT_SPILL_TO_DISK_THRESHOLD = 10 * 1024 * 1024;
+
     protected final Log logger = LogFactory.getLog(getClass());
     private Resource resource;
+    private long spillToDiskThreshold = DEFAULT_SPILL_TO_DISK_THRESHOLD;
+    private File spilledFile;
     private int linesToSkip = 0;
     private int currentRow = -1;
     private int currentSheet = 0;
+    private Sheet sheet;
+    private RowCursor cursor;
+    private int cursorRow = -1;
     private RowMapper<T> rowMapper;
     private RowCallbackHandler skippedRowsCallback;
     private boolean noInput = false;
     private boolean strict = true;
+    private int restartSheet = -1;
+    private int restartRow = -1;
+    private int sheetIndex = -1;
+    private int startRow = -1;
+    private int endRow = -1;
+    private int readAheadSize = 0;
+    private ReadAhead readAhead;
+    private boolean copyRows = false;
+    private int stringCacheSize = 0;
+    private StringCache stringCache;
+    private String[] includedColumnNames;
+    private int[] includedColumnIndexes;
+    private RowFilter rowFilter;
+    private ExcelMetricsListener metricsListener;
+    private int metricsSampleInterval = 100;
+    private int rowsSinceSample = 0;
+    private boolean sheetOpen = false;
+    private int sheetRows = 0;
+    private int sheetBlankRows = 0;
 
     public AbstractExcelItemReader() {
         super();
@@ -58,32 +99,142 @@ public abstract class AbstractExcelItemReader<T> extends AbstractItemCountingIte
 
     @Override
     protected T doRead() throws Exception {
-        if (this.noInput) {
+        if (this.readAheadSize > 0) {
+            if (this.readAhead == null) {
+                this.readAhead = new ReadAhead();
+            }
+            return this.readAhead.read();
+        }
+        final boolean sampled = this.sampleNextRow();
+        final long start = sampled ? System.nanoTime() : 0;
+        if (!this.nextRow()) {
             return null;
         }
-        final Sheet sheet = this.getSheet(this.currentSheet);
-        final String[] row = this.readRow(sheet);
+        final String[] cells = (this.rowMapper instanceof TypedRowMapper) ? null : this.cursor.getCells();
+        if (!sampled) {
+            return this.mapCurrentRow(cells);
+        }
+        final long parsed = System.nanoTime();
+        final T item = this.mapCurrentRow(cells);
+        this.metricsListener.rowRead(this.sheet.getName(), this.currentRow, parsed - start,
+                System.nanoTime() - parsed);
+        return item;
+    }
 
-        if (ObjectUtils.isEmpty(row)) {
+    private T mapCurrentRow(final String[] cells) throws Exception {
+        if (cells == null) {
+            return this.mapRow(this.sheet, this.cursor, this.currentRow);
+        }
+        return this.mapRow(this.sheet, this.copyRows ? cells.clone() : cells, this.currentRow);
+    }
+
+    /**
+     * Decide whether the parse and map time of the next row is reported to the metrics listener.
+     */
+    private boolean sampleNextRow() {
+        if (this.metricsListener == null || ++this.rowsSinceSample < this.metricsSampleInterval) {
+            return false;
+        }
+        this.rowsSinceSample = 0;
+        return true;
+    }
+
+    /**
+     * Report the rows read from the current sheet to the metrics listener, once per sheet.
+     */
+    private void sheetFinished() {
+        if (this.sheetOpen && this.metricsListener != null) {
+            this.metricsListener.sheetRead(this.resource.getDescription(), this.sheet.getName(), this.sheetRows,
+                    this.sheetBlankRows);
+        }
+        this.sheetOpen = false;
+    }
+
+    /**
+     * Move the cursor to the next row which contains data and is accepted by the row filter, moving to the next sheet
+     * when the current sheet has been read.
+     *
+     * @return <code>false</code> when there are no more rows
+     */
+    private boolean nextRow() {
+        while (!this.noInput && this.currentSheet < this.getNumberOfSheets()) {
+            if (this.readRow()) {
+                if (this.isAccepted(this.sheet, this.cursor, this.currentRow)) {
+                    this.sheetRows++;
+                    return true;
+                }
+                continue;
+            }
+            this.sheetFinished();
             this.currentSheet++;
+            if (this.sheetIndex >= 0) {
+                this.currentSheet = this.getNumberOfSheets();
+                return false;
+            }
             if (this.currentSheet >= this.getNumberOfSheets()) {
                 if (logger.isDebugEnabled() ) {
                     logger.debug("No more sheets in '" + this.resource.getDescription() + "'.");
                 }
-                return null;
-            } else {
-                this.currentRow = -1;
-                this.openSheet();
-                return this.doRead();
+                return false;
             }
-        } else {
-            try {
-                return this.rowMapper.mapRow(sheet, row, this.currentRow);
-            } catch (final Exception e) {
-                throw new ExcelFileParseException("Exception parsing Excel file.", e, this.resource.getDescription(),
-                        sheet.getName(), this.currentRow, row);
+            this.currentRow = -1;
+            this.openSheet();
+        }
+        return false;
+    }
+
+    private T mapRow(final Sheet sheet, final String[] row, final int rowNum) throws Exception {
+        try {
+            return this.rowMapper.mapRow(sheet, row, rowNum);
+        } catch (final Exception e) {
+            throw new ExcelFileParseException("Exception parsing Excel file.", e, this.resource.getDescription(),
+                    sheet.getName(), rowNum, row.clone());
+        }
+    }
+
+    private T mapRow(final Sheet sheet, final RowCursor row, final int rowNum) throws Exception {
+        try {
+            return ((TypedRowMapper<T>) this.rowMapper).mapRow(sheet, row, rowNum);
+        } catch (final Exception e) {
+            throw new ExcelFileParseException("Exception parsing Excel file.", e, this.resource.getDescription(),
+                    sheet.getName(), rowNum, row.getCells().clone());
+        }
+    }
+
+    /**
+     * Check whether the row is accepted by the row filter, if any.
+     */
+    boolean isAccepted(final Sheet sheet, final RowCursor row, final int rowNum) {
+        if (this.rowFilter == null || this.rowFilter.accept(sheet, row, rowNum)) {
+            return true;
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("Row [" + rowNum + "] of sheet [" + sheet.getName() + "] not accepted by the row filter.");
+        }
+        return false;
+    }
+
+    /**
+     * Check whether the row, which has already been read as a String[], is accepted by the row filter, if any.
+     */
+    boolean isAccepted(final Sheet sheet, final String[] row, final int rowNum) {
+        return this.rowFilter == null || this.isAccepted(sheet, new ArrayRowCursor(row, rowNum), rowNum);
+    }
+
+    /**
+     * Check whether the row the cursor is on is blank, without turning the row into a String[].
+     *
+     * @param cursor the cursor
+     * @return <code>true</code> if none of the cells contain text
+     */
+    protected boolean isBlank(final RowCursor cursor) {
+        final int numberOfCells = cursor.getNumberOfCells();
+        for (int i = 0; i < numberOfCells; i++) {
+            if (StringUtils.hasText(cursor.getCell(i))) {
+                return false;
             }
         }
+        return true;
     }
 
     protected boolean isBlank(String[]row){
@@ -118,49 +269,249 @@ public abstract class AbstractExcelItemReader<T> extends AbstractItemCountingIte
         }
 
         this.noInput = false;
-        this.openExcelFile(this.resource);
+        this.stringCache = (this.stringCacheSize > 0) ? new StringCache(this.stringCacheSize) : null;
+        this.currentSheet = Math.max(this.sheetIndex, 0);
+        this.currentRow = -1;
+        this.rowsSinceSample = 0;
+        final long start = System.nanoTime();
+        this.openWorkbook();
+        if (this.metricsListener != null) {
+            this.metricsListener.workbookOpened(this.resource.getDescription(), this.getNumberOfSheets(),
+                    this.getContentLength(), System.nanoTime() - start);
+        }
+        if (this.currentSheet >= this.getNumberOfSheets()) {
+            throw new IllegalStateException("Sheet [" + this.currentSheet + "] not found in '"
+                    + this.resource.getDescription() + "'.");
+        }
         this.openSheet();
         if (logger.isDebugEnabled()) {
             logger.debug("Opened workbook ["+this.resource.getFilename()+"] with "+this.getNumberOfSheets()+" sheets.");
         }
     }
 
-    private String[] readRow(final Sheet sheet) {
-        this.currentRow++;
-        logger.debug("Currently reading row [" + this.currentRow + "] of workbook ["+this.resource.getFilename()+"]");
-        if (this.currentRow < sheet.getNumberOfRows()) {
-            String[] row = sheet.getRow(this.currentRow);
+    /**
+     * Remembers the sheet and row stored by {@link #update(ExecutionContext)} so that {@link #jumpToItem(int)} can
+     * position the reader directly instead of reading all the items which have already been processed.
+     */
+    @Override
+    public void open(final ExecutionContext executionContext) throws ItemStreamException {
+        this.restartSheet = -1;
+        this.restartRow = -1;
+        if (this.isSaveState() && executionContext.containsKey(this.getExecutionContextKey(CURRENT_SHEET))) {
+            this.restartSheet = executionContext.getInt(this.getExecutionContextKey(CURRENT_SHEET));
+            this.restartRow = executionContext.getInt(this.getExecutionContextKey(CURRENT_ROW));
+        }
+        super.open(executionContext);
+    }
+
+    @Override
+    public void update(final ExecutionContext executionContext) throws ItemStreamException {
+        super.update(executionContext);
+        if (this.isSaveState()) {
+            final ReadAhead current = this.readAhead;
+            executionContext.putInt(this.getExecutionContextKey(CURRENT_SHEET),
+                    (current != null) ? current.sheet : this.currentSheet);
+            executionContext.putInt(this.getExecutionContextKey(CURRENT_ROW),
+                    (current != null) ? current.row : this.currentRow);
+        }
+    }
+
+    /**
+     * Position the reader on the sheet and row stored in the {@link ExecutionContext}, without reading the rows in
+     * between. Falls back to reading the items one by one when no position was stored.
+     */
+    @Override
+    protected void jumpToItem(final int itemIndex) throws Exception {
+        if (this.restartSheet < 0) {
+            super.jumpToItem(itemIndex);
+            return;
+        }
+        if (this.noInput) {
+            return;
+        }
+        if (this.restartSheet != this.currentSheet) {
+            this.currentSheet = this.restartSheet;
+            this.currentRow = -1;
+            if (this.currentSheet >= this.getNumberOfSheets()) {
+                return;
+            }
+            this.openSheet();
+        }
+        if (this.currentRow < this.restartRow) {
+            this.currentRow = this.restartRow;
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("Restarting at row [" + this.currentRow + "] of sheet [" + this.currentSheet + "].");
+        }
+    }
+
+    private long getContentLength() {
+        try {
+            return this.resource.contentLength();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Open the workbook without positioning the reader on a sheet.
+     */
+    void openWorkbook() throws Exception {
+        this.openExcelFile(this.stageResource(this.resource));
+    }
+
+    /**
+     * Make the resource available as a file when possible, so that the workbook can be opened with random access
+     * instead of buffering the whole stream in memory. Resources which aren't files are copied to a temporary file
+     * when they are larger than the spill to disk threshold, smaller ones are read in memory.
+     */
+    private Resource stageResource(final Resource resource) throws IOException {
+        if (getFile(resource) != null || this.spillToDiskThreshold < 0) {
+            return resource;
+        }
+        final InputStream is = resource.getInputStream();
+        try {
+            final ByteArrayOutputStream head = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[8192];
+            long count = 0;
+            int read = 0;
+            while (count <= this.spillToDiskThreshold && (read = is.read(buffer)) != -1) {
+                head.write(buffer, 0, read);
+                count += read;
+            }
+            if (read == -1) {
+                return new ByteArrayResource(head.toByteArray(), resource.getDescription());
+            }
+            final File spilledFile = File.createTempFile("spring-batch-excel", ".tmp");
+            if (logger.isDebugEnabled()) {
+                logger.debug("Copying '" + resource.getDescription() + "' to temporary file [" + spilledFile + "].");
+            }
+            boolean copied = false;
+            try {
+                final OutputStream os = new FileOutputStream(spilledFile);
+                try {
+                    head.writeTo(os);
+                    FileCopyUtils.copy(is, os);
+                } finally {
+                    os.close();
+                }
+                copied = true;
+            } finally {
+                if (!copied && !spilledFile.delete()) {
+                    logger.warn("Unable to delete temporary file [" + spilledFile + "].");
+                }
+            }
+            this.spilledFile = spilledFile;
+            return new FileSystemResource(spilledFile);
+        } finally {
+            is.close();
+        }
+    }
+
+    /**
+     * Move the cursor to the next row of the current sheet, skipping blank rows. A row which doesn't exist in the
+     * sheet ends the sheet.
+     *
+     * @return <code>false</code> when the end of the sheet has been reached
+     */
+    private boolean readRow() {
+        final RowCursor cursor = this.cursor;
+        while (true) {
+            this.currentRow++;
+            if (this.endRow >= 0 && this.currentRow >= this.endRow) {
+                return false;
+            }
+            if (logger.isDebugEnabled()) {
+                logger.debug("Currently reading row [" + this.currentRow + "] of workbook ["+this.resource.getFilename()+"]");
+            }
+            while (this.cursorRow < this.currentRow) {
+                this.cursorRow = cursor.next() ? cursor.getRowIndex() : Integer.MAX_VALUE;
+            }
+            if (this.cursorRow != this.currentRow) {
+                return false;
+            }
             // Skip blank rows
-            if(row != null && this.isBlank(row)){
-                logger.info("No data found on row [" + this.currentRow + "] of workbook ["+this.resource.getFilename()+"]");
-                return readRow(sheet);
+            if (!this.isBlank(cursor)) {
+                return true;
             }
-            return row;
+            this.sheetBlankRows++;
+            logger.info("No data found on row [" + this.currentRow + "] of workbook ["+this.resource.getFilename()+"]");
         }
+    }
+
+    /**
+     * Position the reader at the start of the given sheet, handing the lines to skip to the skipped rows callback.
+     *
+     * @param sheet the index of the sheet
+     * @return the index of the last row which has been skipped
+     */
+    int moveToSheet(final int sheet) {
+        this.currentSheet = sheet;
+        this.currentRow = -1;
+        this.openSheet();
+        // the rows are read by the caller, which doesn't report them to the metrics listener
+        this.sheetOpen = false;
+        return this.currentRow;
+    }
 
-        return null;
+    /**
+     * Get the sheet with the given index, which only exposes the included columns when these are configured.
+     */
+    Sheet getProjectedSheet(final int sheet) {
+        if (this.includedColumnNames == null && this.includedColumnIndexes == null) {
+            return this.getSheet(sheet);
+        }
+        return new ProjectedSheet(this.getSheet(sheet), this.includedColumnNames, this.includedColumnIndexes);
     }
 
     private void openSheet() {
-        final Sheet sheet = this.getSheet(this.currentSheet);
+        this.sheetFinished();
+        final Sheet sheet = this.getProjectedSheet(this.currentSheet);
+        this.sheet = sheet;
+        this.sheetOpen = true;
+        this.sheetRows = 0;
+        this.sheetBlankRows = 0;
+        this.cursor = (this.stringCache != null) ? new CachingRowCursor(sheet.createRowCursor(), this.stringCache)
+                : sheet.createRowCursor();
+        this.cursorRow = -1;
         if (logger.isDebugEnabled()) {
             logger.debug("Opening sheet "+sheet.getName()+".");
         }
         for (int i = 0; i < this.linesToSkip; i++) {
-            final String[] row = this.readRow(sheet);
+            final boolean read = this.readRow();
             if (this.skippedRowsCallback != null) {
-                this.skippedRowsCallback.handleRow(sheet, row);
+                this.skippedRowsCallback.handleRow(sheet, read ? this.cursor.getCells() : null);
             }
         }
+        if (this.currentRow < this.startRow - 1) {
+            this.currentRow = this.startRow - 1;
+        }
         if (logger.isDebugEnabled()) {
-            logger.debug("Openend sheet "+sheet.getName()+", with "+sheet.getNumberOfRows()+" rows.");
+            // the number of rows of a streaming sheet is unknown until it has been read
+            final int rows = sheet.getNumberOfRows();
+            logger.debug("Opened sheet " + sheet.getName()
+                    + ((rows != Integer.MAX_VALUE) ? ", with " + rows + " rows." : "."));
         }
 
     }
 
     @Override
     protected final void doClose() throws Exception {
+        if (this.readAhead != null) {
+            this.readAhead.stop();
+            this.readAhead = null;
+        }
+        this.sheetFinished();
+        this.sheet = null;
+        this.cursor = null;
+        this.stringCache = null;
         doCloseWorkbook();
+        if (this.spilledFile != null) {
+            if (!this.spilledFile.delete()) {
+                logger.warn("Unable to delete temporary file [" + this.spilledFile + "].");
+            }
+            this.spilledFile = null;
+        }
         if (getResource() != null) {
             try {
                 InputStream is = getResource().getInputStream();
@@ -183,12 +534,29 @@ public abstract class AbstractExcelItemReader<T> extends AbstractItemCountingIte
         return this.resource;
     }
 
+    /**
+     * Get the file underlying the given resource.
+     *
+     * @param resource the resource
+     * @return the file or <code>null</code> if the resource isn't backed by a file
+     */
+    protected static File getFile(final Resource resource) {
+        try {
+            final File file = resource.getFile();
+            return file.isFile() ? file : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
     public void setResource(final Resource resource) {
         this.resource = resource;
     }
 
     public void afterPropertiesSet() throws Exception {
         Assert.notNull(this.rowMapper, "RowMapper must be set");
+        Assert.isTrue(this.includedColumnNames == null || this.includedColumnIndexes == null,
+                "Either the included column names or the included column indexes can be set, not both");
     }
 
     /**
@@ -201,10 +569,48 @@ public abstract class AbstractExcelItemReader<T> extends AbstractItemCountingIte
         this.linesToSkip = linesToSkip;
     }
 
+    /**
+     * Set the size (in bytes) above which resources which aren't files are copied to a temporary file before they
+     * are opened. This allows the workbook to be read with random access instead of being buffered in memory. A
+     * negative value disables this and always opens the workbook from the input stream. Defaults to 10MB.
+     *
+     * @param spillToDiskThreshold the threshold in bytes
+     */
+    public void setSpillToDiskThreshold(final long spillToDiskThreshold) {
+        this.spillToDiskThreshold = spillToDiskThreshold;
+    }
+
     protected abstract Sheet getSheet(int sheet);
 
     protected abstract int getNumberOfSheets();
 
+    /**
+     * Whether the rows of the sheets can be read in any order and from multiple threads. Readers which parse the
+     * sheets as a stream of rows should return <code>false</code>. Defaults to <code>true</code>.
+     *
+     * @return <code>true</code> if rows can be read in any order
+     */
+    protected boolean isRandomAccess() {
+        return true;
+    }
+
+    /**
+     * Get the number of rows in the given sheet without reading it, used by {@link ExcelPartitioner} to split the
+     * sheet into row ranges. Defaults to {@link Sheet#getNumberOfRows()}.
+     *
+     * @param sheet the index of the sheet
+     * @return the number of rows or -1 if the number of rows isn't known upfront
+     */
+    protected int getNumberOfRows(final int sheet) {
+        return this.getSheet(sheet).getNumberOfRows();
+    }
+
+    /**
+     * Open the workbook. The given resource is backed by a file whenever possible, see {@link #getFile(Resource)}.
+     *
+     * @param resource the resource to open
+     * @throws Exception
+     */
     protected abstract void openExcelFile(Resource resource) throws Exception;
 
     /**
@@ -217,6 +623,141 @@ public abstract class AbstractExcelItemReader<T> extends AbstractItemCountingIte
         this.strict = strict;
     }
 
+    /**
+     * Only read the sheet with the given (0-based) index instead of all the sheets in the workbook. Defaults to -1,
+     * which reads all sheets.
+     *
+     * @param sheetIndex the index of the sheet to read
+     */
+    public void setSheetIndex(final int sheetIndex) {
+        this.sheetIndex = sheetIndex;
+    }
+
+    /**
+     * Set the (0-based) index of the first row to read. The lines to skip are still handed to the
+     * {@link #setSkippedRowsCallback(RowCallbackHandler) skipped rows callback}, the rows between those and the
+     * start row are ignored. This applies to each sheet being read. Defaults to -1, which starts after the lines to
+     * skip.
+     *
+     * @param startRow the index of the first row to read
+     */
+    public void setStartRow(final int startRow) {
+        this.startRow = startRow;
+    }
+
+    /**
+     * Set the (0-based) index of the row at which to stop reading, the row itself is not read. This applies to each
+     * sheet being read. Defaults to -1, which reads until the end of the sheet.
+     *
+     * @param endRow the index of the first row which isn't read
+     */
+    public void setEndRow(final int endRow) {
+        this.endRow = endRow;
+    }
+
+    /**
+     * Set the number of rows which are parsed ahead on a background thread, so that parsing the workbook overlaps
+     * with mapping and writing the items on the step thread. Parsing blocks when the given number of rows is waiting
+     * to be mapped. Exceptions thrown while parsing are rethrown on the step thread and the restart state reflects
+     * the rows which have been returned, not the rows which have been parsed. Note that the
+     * {@link #setSkippedRowsCallback(RowCallbackHandler) skipped rows callback} is called from the background thread.
+     * Defaults to 0, which parses the rows on the step thread.
+     *
+     * @param readAheadSize the number of rows to parse ahead
+     */
+    public void setReadAheadSize(final int readAheadSize) {
+        this.readAheadSize = readAheadSize;
+    }
+
+    /**
+     * The String[] passed to the {@link RowMapper} (and the {@link #setSkippedRowsCallback(RowCallbackHandler)
+     * skipped rows callback}) is only valid for the duration of the call, as the array is reused for the next row.
+     * Set this to <code>true</code> when the row mapper keeps a reference to the array, to give it a copy of each
+     * row. The provided row mappers don't keep the array. Defaults to <code>false</code>.
+     *
+     * @param copyRows <code>true</code> to pass a copy of each row to the row mapper
+     */
+    public void setCopyRows(final boolean copyRows) {
+        this.copyRows = copyRows;
+    }
+
+    /**
+     * Set the number of entries of a cache which returns a canonical instance for equal cell values, so that values
+     * which are repeated across many rows are retained only once by the items. The cache is bounded, values which
+     * collide in the cache replace each other. Defaults to 0, which disables the cache.
+     *
+     * @param stringCacheSize the number of entries of the cache
+     */
+    public void setStringCacheSize(final int stringCacheSize) {
+        this.stringCacheSize = stringCacheSize;
+    }
+
+    /**
+     * Only read the columns with the given names (as they appear in the header of each sheet), in the given order.
+     * The cells of the other columns aren't converted, the streaming readers skip them while parsing (except in the
+     * header row which is needed to resolve the names). The {@link Sheet} passed to the {@link RowMapper}
+     * only exposes the included columns, so that the {@link org.springframework.batch.item.excel.transform.DefaultRowTokenizer}
+     * doesn't create fields for them. Rows which only contain data in the other columns are skipped as blank rows.
+     *
+     * @param includedColumnNames the names of the columns to read
+     */
+    public void setIncludedColumnNames(final String[] includedColumnNames) {
+        this.includedColumnNames = includedColumnNames;
+    }
+
+    /**
+     * Only read the columns with the given (0-based) indexes, in the given order. See
+     * {@link #setIncludedColumnNames(String[])}.
+     *
+     * @param includedColumnIndexes the indexes of the columns to read
+     */
+    public void setIncludedColumnIndexes(final int[] includedColumnIndexes) {
+        this.includedColumnIndexes = includedColumnIndexes;
+    }
+
+    /**
+     * Set the {@link RowFilter} which decides which rows are mapped. It is called with the raw cell values before the
+     * {@link RowMapper}, rows which aren't accepted are skipped. Skipped rows aren't items, but the restart position
+     * is stored as sheet and row so they aren't read again after a restart. Note that with a
+     * {@link #setReadAheadSize(int) read ahead size} the filter is called from the background thread.
+     *
+     * @param rowFilter the row filter
+     */
+    public void setRowFilter(final RowFilter rowFilter) {
+        this.rowFilter = rowFilter;
+    }
+
+    /**
+     * Set the {@link ExcelMetricsListener} which receives the time it takes to open the workbook, the number of rows
+     * read and skipped per sheet and, for a sample of the rows, the time spent parsing and mapping the row. Note that
+     * with a {@link #setReadAheadSize(int) read ahead size} the listener is also called from the background thread.
+     *
+     * @param metricsListener the metrics listener
+     * @see CountingExcelMetricsListener
+     */
+    public void setMetricsListener(final ExcelMetricsListener metricsListener) {
+        this.metricsListener = metricsListener;
+    }
+
+    /**
+     * Set how often the parse and map time of a row is reported to the {@link #setMetricsListener(ExcelMetricsListener)
+     * metrics listener}, measuring each row would add noticeable overhead. Defaults to 100, which reports every
+     * 100th row.
+     *
+     * @param metricsSampleInterval the number of rows between the rows which are measured
+     */
+    public void setMetricsSampleInterval(final int metricsSampleInterval) {
+        this.metricsSampleInterval = metricsSampleInterval;
+    }
+
+    /**
+     * Replace the values of the given row with their canonical instance, when the string cache is enabled.
+     */
+    String[] cacheStrings(final String[] row) {
+        final StringCache cache = this.stringCache;
+        return (cache != null) ? cache.get(row) : row;
+    }
+
     public void setRowMapper(final RowMapper<T> rowMapper) {
         this.rowMapper = rowMapper;
     }
@@ -225,11 +766,154 @@ public abstract class AbstractExcelItemReader<T> extends AbstractItemCountingIte
         this.skippedRowsCallback = skippedRowsCallback;
     }
 
+    RowMapper<T> getRowMapper() {
+        return this.rowMapper;
+    }
+
+    boolean isNoInput() {
+        return this.noInput;
+    }
+
+    int getSheetIndex() {
+        return this.sheetIndex;
+    }
+
+    int getEndRow() {
+        return this.endRow;
+    }
+
+    int getCurrentSheetIndex() {
+        return this.currentSheet;
+    }
+
     /**
      * Get the index for the last processed row in Excel file
      * @return The last processed row
      */
     public int getCurrentRowIndex(){
-        return currentRow;
+        final ReadAhead current = this.readAhead;
+        return (current != null) ? current.row : this.currentRow;
+    }
+
+    /**
+     * A row which has been parsed by the read ahead thread, together with its position.
+     */
+    private static final class ParsedRow {
+
+        private final Sheet sheet;
+        private final int sheetIndex;
+        private final int rowIndex;
+        private final String[] cells;
+        private final Throwable error;
+        private final long parseNanos;
+
+        private ParsedRow(final Sheet sheet, final int sheetIndex, final int rowIndex, final String[] cells,
+                          final Throwable error) {
+            this(sheet, sheetIndex, rowIndex, cells, error, -1);
+        }
+
+        private ParsedRow(final Sheet sheet, final int sheetIndex, final int rowIndex, final String[] cells,
+                          final Throwable error, final long parseNanos) {
+            this.sheet = sheet;
+            this.sheetIndex = sheetIndex;
+            this.rowIndex = rowIndex;
+            this.cells = cells;
+            this.error = error;
+            this.parseNanos = parseNanos;
+        }
+    }
+
+    /**
+     * Parses rows on a background thread into a bounded queue from which they are taken by the step thread. While
+     * it runs the background thread owns the current sheet and row, the position of the last row taken from the
+     * queue is kept separately for the restart state.
+     */
+    private final class ReadAhead implements Runnable {
+
+        private final BlockingQueue<ParsedRow> queue = new ArrayBlockingQueue<ParsedRow>(readAheadSize);
+        private final Thread thread;
+        private volatile boolean stopped = false;
+
+        private volatile int sheet;
+        private volatile int row;
+        private ParsedRow last;
+
+        private ReadAhead() {
+            super();
+            this.sheet = currentSheet;
+            this.row = currentRow;
+            this.thread = new Thread(this, getExecutionContextKey("read-ahead"));
+            this.thread.setDaemon(true);
+            this.thread.start();
+        }
+
+        public void run() {
+            try {
+                while (!this.stopped) {
+                    final boolean sampled = sampleNextRow();
+                    final long start = sampled ? System.nanoTime() : 0;
+                    if (!nextRow()) {
+                        break;
+                    }
+                    final String[] cells = cursor.getCells().clone();
+                    if (!this.put(new ParsedRow(AbstractExcelItemReader.this.sheet, currentSheet, currentRow, cells,
+                            null, sampled ? System.nanoTime() - start : -1))) {
+                        return;
+                    }
+                }
+                this.put(new ParsedRow(null, currentSheet, currentRow, null, null));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Throwable t) {
+                try {
+                    this.put(new ParsedRow(null, currentSheet, currentRow, null, t));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        private boolean put(final ParsedRow parsed) throws InterruptedException {
+            while (!this.stopped) {
+                if (this.queue.offer(parsed, 100, TimeUnit.MILLISECONDS)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        T read() throws Exception {
+            if (this.last == null || this.last.cells != null) {
+                this.last = this.queue.take();
+            }
+            final ParsedRow parsed = this.last;
+            if (parsed.error instanceof RuntimeException) {
+                throw (RuntimeException) parsed.error;
+            }
+            if (parsed.error instanceof Error) {
+                throw (Error) parsed.error;
+            }
+            if (parsed.error != null) {
+                throw new IllegalStateException("Exception parsing Excel file.", parsed.error);
+            }
+            this.sheet = parsed.sheetIndex;
+            this.row = parsed.rowIndex;
+            if (parsed.cells == null) {
+                return null;
+            }
+            if (parsed.parseNanos < 0) {
+                return mapRow(parsed.sheet, parsed.cells, parsed.rowIndex);
+            }
+            final long start = System.nanoTime();
+            final T item = mapRow(parsed.sheet, parsed.cells, parsed.rowIndex);
+            metricsListener.rowRead(parsed.sheet.getName(), parsed.rowIndex, parsed.parseNanos,
+                    System.nanoTime() - start);
+            return item;
+        }
+
+        void stop() throws InterruptedException {
+            this.stopped = true;
+            this.thread.join();
+        }
     }
 }
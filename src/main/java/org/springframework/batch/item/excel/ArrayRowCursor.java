@@ -0,0 +1,62 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.batch.item.excel;
+
+/**
+ * {@link RowCursor} positioned on a single row which has already been read as a String[], for instance to pass a
+ * row which has been read ahead to a {@link TypedRowMapper} or a {@link RowFilter}.
+ */
+public class ArrayRowCursor extends StringRowCursor {
+
+    private final String[] cells;
+    private final int rowIndex;
+
+    /**
+     * Constructor which takes the row and its index.
+     *
+     * @param cells the content of the row
+     * @param rowIndex the index of the row
+     */
+    public ArrayRowCursor(final String[] cells, final int rowIndex) {
+        super();
+        this.cells = cells;
+        this.rowIndex = rowIndex;
+    }
+
+    /**
+     * The cursor can't be moved, always returns <code>false</code>.
+     */
+    public boolean next() {
+        return false;
+    }
+
+    public int getRowIndex() {
+        return this.rowIndex;
+    }
+
+    public int getNumberOfCells() {
+        return this.cells.length;
+    }
+
+    public String getCell(final int column) {
+        return this.cells[column];
+    }
+
+    public String[] getCells() {
+        return this.cells;
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.batch.item.excel;
+
+import java.util.Date;
+
+/**
+ * {@link RowCursor} which returns the cells of the delegate cursor as canonical instances from a {@link StringCache}.
+ */
+final class CachingRowCursor implements RowCursor {
+
+    private final RowCursor delegate;
+    private final StringCache cache;
+
+    CachingRowCursor(final RowCursor delegate, final StringCache cache) {
+        super();
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    public boolean next() {
+        return this.delegate.next();
+    }
+
+    public int getRowIndex() {
+        return this.delegate.getRowIndex();
+    }
+
+    public int getNumberOfCells() {
+        return this.delegate.getNumberOfCells();
+    }
+
+    public String getCell(final int column) {
+        return this.cache.get(this.delegate.getCell(column));
+    }
+
+    public CellType getCellType(final int column) {
+        return this.delegate.getCellType(column);
+    }
+
+    public double getDouble(final int column) {
+        return this.delegate.getDouble(column);
+    }
+
+    public boolean getBoolean(final int column) {
+        return this.delegate.getBoolean(column);
+    }
+
+    public Date getDate(final int column) {
+        return this.delegate.getDate(column);
+    }
+
+    public String[] getCells() {
+        return this.cache.get(this.delegate.getCells());
+    }
+}
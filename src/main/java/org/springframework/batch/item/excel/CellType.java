@@ -0,0 +1,41 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.batch.item.excel;
+
+/**
+ * The type of the content of a cell, as exposed by {@link RowCursor#getCellType(int)}.
+ */
+public enum CellType {
+
+    /** The cell is empty or doesn't exist. */
+    BLANK,
+
+    /** The cell contains text. */
+    STRING,
+
+    /** The cell contains a number. */
+    NUMERIC,
+
+    /** The cell contains a number formatted as a date, the number is the Excel date serial. */
+    DATE,
+
+    /** The cell contains a boolean. */
+    BOOLEAN,
+
+    /** The cell contains an error. */
+    ERROR
+}
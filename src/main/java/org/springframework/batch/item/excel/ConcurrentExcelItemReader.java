@@ -0,0 +1,406 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.batch.item.excel;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.batch.item.ItemStreamSupport;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ObjectUtils;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Thread-safe {@link org.springframework.batch.item.ItemReader} for multi-threaded steps. The workbook is opened and
+ * configured through a delegate {@link AbstractExcelItemReader}, after which the threads claim rows from an atomic
+ * cursor over sheet and row. Getting the row from the sheet and mapping it happen concurrently, only moving to the
+ * next sheet is done under a lock. For readers which can only read rows in order (the streaming readers) getting the
+ * row is done under the lock as well, the mapping still happens concurrently. The configured {@link RowMapper} (and
+ * {@link RowFilter}) has to be thread-safe.
+ *
+ * <p>Unlike {@link AbstractExcelItemReader} rows which are missing from a sheet are skipped instead of ending the
+ * sheet, as the threads don't read the rows in order.</p>
+ *
+ * <p>As rows are committed out of order the restart state consists of the position below which all rows have been
+ * committed together with the positions above it which have been committed as well. Those are skipped after a
+ * restart, so every row is read exactly once. This relies on {@link #update(ExecutionContext)} being called by the
+ * thread which read the items of the chunk, as is the case in a multi-threaded step.</p>
+ *
+ * @param <T> the type
+ */
+public class ConcurrentExcelItemReader<T> extends ItemStreamSupport implements ItemStreamReader<T>, InitializingBean {
+
+    private static final String POSITION = "position";
+    private static final String COMMITTED = "committed";
+
+    private final Log logger = LogFactory.getLog(getClass());
+
+    private final AtomicLong cursor = new AtomicLong();
+    private final ConcurrentNavigableMap<Long, Integer> inFlight = new ConcurrentSkipListMap<Long, Integer>();
+    private final ConcurrentSkipListSet<Long> committed = new ConcurrentSkipListSet<Long>();
+    private final ConcurrentMap<Thread, List<Long>> pending = new ConcurrentHashMap<Thread, List<Long>>();
+    private final Object lock = new Object();
+
+    private AbstractExcelItemReader<T> delegate;
+    private boolean saveState = true;
+
+    private boolean randomAccess;
+    private int numberOfSheets;
+    private volatile SheetBounds bounds;
+
+    public ConcurrentExcelItemReader() {
+        super();
+        this.setName(ClassUtils.getShortName(this.getClass()));
+    }
+
+    public T read() throws Exception {
+        if (this.randomAccess) {
+            return this.readRandomAccess();
+        }
+        return this.readInOrder();
+    }
+
+    private T readRandomAccess() throws Exception {
+        while (true) {
+            final SheetBounds current = this.bounds;
+            if (current == null) {
+                return null;
+            }
+            final long position = this.cursor.get();
+            if (sheetOf(position) != current.index) {
+                // another thread is moving to the next sheet
+                Thread.yield();
+                continue;
+            }
+            final int row = rowOf(position);
+            if (row >= current.end) {
+                this.nextSheet(current.index);
+                continue;
+            }
+            if (!this.claim(position)) {
+                continue;
+            }
+            final String[] cells = this.delegate.cacheStrings(current.sheet.getRow(row));
+            if (this.isEmpty(cells) || !this.delegate.isAccepted(current.sheet, cells, row)) {
+                this.release(position);
+                continue;
+            }
+            this.addPending(position);
+            return this.mapRow(current.sheet, cells, row);
+        }
+    }
+
+    private T readInOrder() throws Exception {
+        final SheetBounds current;
+        final int row;
+        final String[] cells;
+        synchronized (this.lock) {
+            while (true) {
+                final SheetBounds candidate = this.bounds;
+                if (candidate == null) {
+                    return null;
+                }
+                final long position = this.cursor.get();
+                final int candidateRow = rowOf(position);
+                if (candidateRow >= candidate.end) {
+                    this.nextSheet(candidate.index);
+                    continue;
+                }
+                if (!this.claim(position)) {
+                    continue;
+                }
+                final String[] candidateCells = this.delegate.cacheStrings(candidate.sheet.getRow(candidateRow));
+                if (candidateCells == null) {
+                    this.release(position);
+                    this.nextSheet(candidate.index);
+                    continue;
+                }
+                if (this.isEmpty(candidateCells)
+                        || !this.delegate.isAccepted(candidate.sheet, candidateCells, candidateRow)) {
+                    this.release(position);
+                    continue;
+                }
+                this.addPending(position);
+                current = candidate;
+                row = candidateRow;
+                cells = candidateCells;
+                break;
+            }
+        }
+        return this.mapRow(current.sheet, cells, row);
+    }
+
+    /**
+     * Claim the row at the given position. When saving state the position is registered as in flight before the
+     * cursor moves past it, so that {@link #update(ExecutionContext)} never stores a position beyond a row which
+     * hasn't been committed. Positions which have already been committed before a restart are skipped.
+     *
+     * <p>Threads which read the same cursor value all register the position, so the registrations are counted: a
+     * thread which loses the race only removes its own registration, never the one of the thread which claimed the
+     * row.</p>
+     */
+    private boolean claim(final long position) {
+        if (this.saveState) {
+            this.addInFlight(position);
+        }
+        if (!this.cursor.compareAndSet(position, position + 1)) {
+            this.release(position);
+            return false;
+        }
+        if (this.saveState && this.committed.contains(position)) {
+            this.release(position);
+            return false;
+        }
+        return true;
+    }
+
+    private void release(final long position) {
+        if (this.saveState) {
+            this.removeInFlight(position);
+        }
+    }
+
+    private void addInFlight(final Long position) {
+        while (true) {
+            final Integer count = this.inFlight.get(position);
+            if (count == null ? this.inFlight.putIfAbsent(position, 1) == null
+                    : this.inFlight.replace(position, count, count + 1)) {
+                return;
+            }
+        }
+    }
+
+    private void removeInFlight(final Long position) {
+        while (true) {
+            final Integer count = this.inFlight.get(position);
+            if (count == null) {
+                return;
+            }
+            if (count == 1 ? this.inFlight.remove(position, count)
+                    : this.inFlight.replace(position, count, count - 1)) {
+                return;
+            }
+        }
+    }
+
+    private void addPending(final long position) {
+        if (!this.saveState) {
+            return;
+        }
+        final Thread thread = Thread.currentThread();
+        List<Long> positions = this.pending.get(thread);
+        if (positions == null) {
+            positions = new ArrayList<Long>();
+            this.pending.put(thread, positions);
+        }
+        positions.add(position);
+    }
+
+    private boolean isEmpty(final String[] cells) {
+        return ObjectUtils.isEmpty(cells) || this.delegate.isBlank(cells);
+    }
+
+    private T mapRow(final Sheet sheet, final String[] row, final int rowNum) throws Exception {
+        try {
+            return this.delegate.getRowMapper().mapRow(sheet, row, rowNum);
+        } catch (final Exception e) {
+            throw new ExcelFileParseException("Exception parsing Excel file.", e,
+                    this.delegate.getResource().getDescription(), sheet.getName(), rowNum, row);
+        }
+    }
+
+    /**
+     * Move the cursor to the start of the sheet following the given sheet, unless another thread already did so.
+     */
+    private void nextSheet(final int sheet) {
+        synchronized (this.lock) {
+            final SheetBounds current = this.bounds;
+            if (current == null || current.index != sheet) {
+                return;
+            }
+            final int next = sheet + 1;
+            if (next >= this.numberOfSheets) {
+                if (logger.isDebugEnabled()) {
+                    logger.debug("No more sheets in '" + this.delegate.getResource().getDescription() + "'.");
+                }
+                this.bounds = null;
+                this.cursor.set(position(next, 0));
+                return;
+            }
+            final int row = this.delegate.moveToSheet(next) + 1;
+            this.bounds = this.createBounds(next);
+            this.cursor.set(position(next, row));
+        }
+    }
+
+    private SheetBounds createBounds(final int index) {
+        final Sheet sheet = this.delegate.getProjectedSheet(index);
+        int end = this.randomAccess ? sheet.getNumberOfRows() : Integer.MAX_VALUE;
+        if (this.delegate.getEndRow() >= 0) {
+            end = Math.min(end, this.delegate.getEndRow());
+        }
+        return new SheetBounds(index, sheet, end);
+    }
+
+    @Override
+    public void open(final ExecutionContext executionContext) throws ItemStreamException {
+        this.inFlight.clear();
+        this.committed.clear();
+        this.pending.clear();
+        this.bounds = null;
+        try {
+            this.delegate.doOpen();
+        } catch (Exception e) {
+            throw new ItemStreamException("Failed to initialize the reader", e);
+        }
+        this.randomAccess = this.delegate.isRandomAccess();
+        if (this.delegate.isNoInput()) {
+            this.numberOfSheets = 0;
+            return;
+        }
+        this.numberOfSheets = (this.delegate.getSheetIndex() >= 0) ? this.delegate.getSheetIndex() + 1
+                : this.delegate.getNumberOfSheets();
+        int sheet = this.delegate.getCurrentSheetIndex();
+        int row = this.delegate.getCurrentRowIndex() + 1;
+        if (this.saveState && executionContext.containsKey(this.getExecutionContextKey(POSITION))) {
+            final long position = executionContext.getLong(this.getExecutionContextKey(POSITION));
+            if (sheetOf(position) != sheet) {
+                sheet = sheetOf(position);
+                row = (sheet < this.numberOfSheets) ? this.delegate.moveToSheet(sheet) + 1 : 0;
+            }
+            row = Math.max(row, rowOf(position));
+            for (final String committedPosition : StringUtils.commaDelimitedListToStringArray(
+                    executionContext.getString(this.getExecutionContextKey(COMMITTED), ""))) {
+                this.committed.add(Long.valueOf(committedPosition));
+            }
+            if (logger.isDebugEnabled()) {
+                logger.debug("Restarting at row [" + row + "] of sheet [" + sheet + "], skipping "
+                        + this.committed.size() + " rows which have already been committed.");
+            }
+        }
+        if (sheet < this.numberOfSheets) {
+            this.bounds = this.createBounds(sheet);
+        }
+        this.cursor.set(position(sheet, row));
+    }
+
+    /**
+     * Marks the items read by the current thread since its previous update as committed and stores the restart
+     * state.
+     */
+    @Override
+    public void update(final ExecutionContext executionContext) throws ItemStreamException {
+        if (!this.saveState) {
+            return;
+        }
+        final List<Long> positions = this.pending.get(Thread.currentThread());
+        if (positions != null) {
+            this.committed.addAll(positions);
+            for (final Long position : positions) {
+                this.removeInFlight(position);
+            }
+            positions.clear();
+        }
+        long watermark = this.cursor.get();
+        final Long firstInFlight = this.inFlight.ceilingKey(Long.MIN_VALUE);
+        if (firstInFlight != null) {
+            watermark = Math.min(watermark, firstInFlight);
+        }
+        this.committed.headSet(watermark).clear();
+        executionContext.putLong(this.getExecutionContextKey(POSITION), watermark);
+        executionContext.putString(this.getExecutionContextKey(COMMITTED),
+                StringUtils.collectionToCommaDelimitedString(this.committed.tailSet(watermark)));
+    }
+
+    @Override
+    public void close() throws ItemStreamException {
+        this.bounds = null;
+        this.pending.clear();
+        this.inFlight.clear();
+        this.committed.clear();
+        try {
+            this.delegate.doClose();
+        } catch (Exception e) {
+            throw new ItemStreamException("Error while closing item reader", e);
+        }
+    }
+
+    public void afterPropertiesSet() throws Exception {
+        Assert.notNull(this.delegate, "Delegate must be set");
+        this.delegate.afterPropertiesSet();
+    }
+
+    /**
+     * Set the reader which is used to open the workbook and which provides the configuration (resource, row mapper,
+     * lines to skip etc.). The delegate shouldn't be used as a reader itself.
+     *
+     * @param delegate the reader to delegate to
+     */
+    public void setDelegate(final AbstractExcelItemReader<T> delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Whether the restart state should be stored in the {@link ExecutionContext}, defaults to <code>true</code>.
+     *
+     * @param saveState <code>false</code> to disable restart
+     */
+    public void setSaveState(final boolean saveState) {
+        this.saveState = saveState;
+    }
+
+    private static long position(final int sheet, final int row) {
+        return ((long) sheet << 32) | row;
+    }
+
+    private static int sheetOf(final long position) {
+        return (int) (position >>> 32);
+    }
+
+    private static int rowOf(final long position) {
+        return (int) position;
+    }
+
+    /**
+     * The sheet currently being read and the index of the row at which it ends.
+     */
+    private static final class SheetBounds {
+
+        private final int index;
+        private final Sheet sheet;
+        private final int end;
+
+        private SheetBounds(final int index, final Sheet sheet, final int end) {
+            this.index = index;
+            this.sheet = sheet;
+            this.end = end;
+        }
+    }
+}
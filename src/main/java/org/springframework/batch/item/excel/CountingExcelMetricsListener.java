@@ -0,0 +1,173 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.batch.item.excel;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link ExcelMetricsListener} which aggregates the metrics into counters, in the style of a metrics registry. The
+ * counters only increase (until {@link #reset()}) so they can be polled and exposed as gauges or rates, for instance
+ * through JMX. Times are in nanoseconds.
+ */
+public class CountingExcelMetricsListener implements ExcelMetricsListener {
+
+    private final AtomicLong workbooksOpened = new AtomicLong();
+    private final AtomicLong openTime = new AtomicLong();
+    private final AtomicLong bytesRead = new AtomicLong();
+    private final AtomicLong rowsRead = new AtomicLong();
+    private final AtomicLong blankRowsSkipped = new AtomicLong();
+    private final AtomicLong sampledRows = new AtomicLong();
+    private final AtomicLong parseTime = new AtomicLong();
+    private final AtomicLong mapTime = new AtomicLong();
+    private final AtomicLong rowsWritten = new AtomicLong();
+    private final AtomicLong writeTime = new AtomicLong();
+    private final AtomicLong flushTime = new AtomicLong();
+    private final ConcurrentMap<String, AtomicLong> rowsPerSheet = new ConcurrentHashMap<String, AtomicLong>();
+    private volatile long started = System.nanoTime();
+
+    public void workbookOpened(final String resource, final int numberOfSheets, final long bytes,
+                               final long openNanos) {
+        this.workbooksOpened.incrementAndGet();
+        this.openTime.addAndGet(openNanos);
+        if (bytes > 0) {
+            this.bytesRead.addAndGet(bytes);
+        }
+    }
+
+    public void sheetRead(final String resource, final String sheet, final int rows, final int blankRows) {
+        this.rowsRead.addAndGet(rows);
+        this.blankRowsSkipped.addAndGet(blankRows);
+        AtomicLong counter = this.rowsPerSheet.get(sheet);
+        if (counter == null) {
+            final AtomicLong created = new AtomicLong();
+            counter = this.rowsPerSheet.putIfAbsent(sheet, created);
+            if (counter == null) {
+                counter = created;
+            }
+        }
+        counter.addAndGet(rows);
+    }
+
+    public void rowRead(final String sheet, final int rowNum, final long parseNanos, final long mapNanos) {
+        this.sampledRows.incrementAndGet();
+        this.parseTime.addAndGet(parseNanos);
+        this.mapTime.addAndGet(mapNanos);
+    }
+
+    public void workbookWritten(final String resource, final int rows, final long writeNanos,
+                                final long flushNanos) {
+        this.rowsWritten.addAndGet(rows);
+        this.writeTime.addAndGet(writeNanos);
+        this.flushTime.addAndGet(flushNanos);
+    }
+
+    /**
+     * Set all the counters back to 0 and restart the measurement of {@link #getRowsPerSecond()}.
+     */
+    public void reset() {
+        this.workbooksOpened.set(0);
+        this.openTime.set(0);
+        this.bytesRead.set(0);
+        this.rowsRead.set(0);
+        this.blankRowsSkipped.set(0);
+        this.sampledRows.set(0);
+        this.parseTime.set(0);
+        this.mapTime.set(0);
+        this.rowsWritten.set(0);
+        this.writeTime.set(0);
+        this.flushTime.set(0);
+        this.rowsPerSheet.clear();
+        this.started = System.nanoTime();
+    }
+
+    public long getWorkbooksOpened() {
+        return this.workbooksOpened.get();
+    }
+
+    public long getOpenTime() {
+        return this.openTime.get();
+    }
+
+    public long getBytesRead() {
+        return this.bytesRead.get();
+    }
+
+    /**
+     * The number of rows read from the sheets which have been completed.
+     */
+    public long getRowsRead() {
+        return this.rowsRead.get();
+    }
+
+    public long getBlankRowsSkipped() {
+        return this.blankRowsSkipped.get();
+    }
+
+    /**
+     * The number of rows read per sheet name.
+     */
+    public Map<String, Long> getRowsPerSheet() {
+        final Map<String, Long> rows = new HashMap<String, Long>();
+        for (final Map.Entry<String, AtomicLong> entry : this.rowsPerSheet.entrySet()) {
+            rows.put(entry.getKey(), entry.getValue().get());
+        }
+        return Collections.unmodifiableMap(rows);
+    }
+
+    /**
+     * The number of rows read per second since this listener was created or {@link #reset()}.
+     */
+    public double getRowsPerSecond() {
+        final long elapsed = System.nanoTime() - this.started;
+        return (elapsed > 0) ? this.rowsRead.get() * 1e9 / elapsed : 0;
+    }
+
+    public long getSampledRows() {
+        return this.sampledRows.get();
+    }
+
+    /**
+     * The total time spent parsing the sampled rows.
+     */
+    public long getParseTime() {
+        return this.parseTime.get();
+    }
+
+    /**
+     * The total time spent mapping the sampled rows.
+     */
+    public long getMapTime() {
+        return this.mapTime.get();
+    }
+
+    public long getRowsWritten() {
+        return this.rowsWritten.get();
+    }
+
+    public long getWriteTime() {
+        return this.writeTime.get();
+    }
+
+    public long getFlushTime() {
+        return this.flushTime.get();
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.batch.item.excel;
+
+/**
+ * Callback which receives metrics about reading and writing Excel files, to expose the throughput of a step on
+ * dashboards. Implementations are called from the reading thread (or the read ahead thread) and from the writing
+ * thread, so they need to be thread-safe. Times are in nanoseconds.
+ *
+ * @see CountingExcelMetricsListener
+ */
+public interface ExcelMetricsListener {
+
+    /**
+     * Called when a reader has opened a workbook.
+     *
+     * @param resource the description of the resource
+     * @param numberOfSheets the number of sheets in the workbook
+     * @param bytes the size of the resource in bytes, -1 if unknown
+     * @param openNanos the time it took to open the workbook
+     */
+    void workbookOpened(String resource, int numberOfSheets, long bytes, long openNanos);
+
+    /**
+     * Called when a reader is done with a sheet, because it has been read or because the reader is closed.
+     *
+     * @param resource the description of the resource
+     * @param sheet the name of the sheet
+     * @param rows the number of rows which have been read (the rows which haven't been skipped)
+     * @param blankRows the number of blank rows which have been skipped
+     */
+    void sheetRead(String resource, String sheet, int rows, int blankRows);
+
+    /**
+     * Called for a sample of the rows which are read, with the time spent parsing the row and the time spent in the
+     * {@link RowMapper}.
+     *
+     * @param sheet the name of the sheet
+     * @param rowNum the index of the row
+     * @param parseNanos the time spent reading the row from the sheet
+     * @param mapNanos the time spent mapping the row
+     */
+    void rowRead(String sheet, int rowNum, long parseNanos, long mapNanos);
+
+    /**
+     * Called when a writer has written a workbook.
+     *
+     * @param resource the description of the resource
+     * @param rows the number of rows which have been written
+     * @param writeNanos the time spent creating the rows
+     * @param flushNanos the time spent writing the workbook to the resource
+     */
+    void workbookWritten(String resource, int rows, long writeNanos, long flushNanos);
+}
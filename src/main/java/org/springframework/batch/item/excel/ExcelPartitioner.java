@@ -0,0 +1,146 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.batch.item.excel;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.util.Assert;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@link Partitioner} which splits a workbook into partitions by sheet and row range. Each partition gets an
+ * {@link ExecutionContext} containing the index and name of the sheet and the range of rows
+ * (<code>[startRow, endRow)</code>) to read, which can be bound to the
+ * {@link AbstractExcelItemReader#setSheetIndex(int) sheetIndex},
+ * {@link AbstractExcelItemReader#setStartRow(int) startRow} and
+ * {@link AbstractExcelItemReader#setEndRow(int) endRow} properties of a step scoped reader.
+ *
+ * <pre>
+ * &lt;property name="sheetIndex" value="#{stepExecutionContext['sheetIndex']}"/&gt;
+ * &lt;property name="startRow" value="#{stepExecutionContext['startRow']}"/&gt;
+ * &lt;property name="endRow" value="#{stepExecutionContext['endRow']}"/&gt;
+ * </pre>
+ *
+ * The number of rows in each sheet is determined with the configured reader, which is only used to open the workbook.
+ * Sheets for which the number of rows isn't known upfront end up in a single partition. The last partition of each
+ * sheet has no end row, so rows beyond the reported number of rows are never lost.
+ */
+public class ExcelPartitioner implements Partitioner, InitializingBean {
+
+    public static final String SHEET_INDEX_KEY = "sheetIndex";
+    public static final String SHEET_NAME_KEY = "sheetName";
+    public static final String START_ROW_KEY = "startRow";
+    public static final String END_ROW_KEY = "endRow";
+
+    private static final String PARTITION_KEY = "partition";
+
+    private final Log logger = LogFactory.getLog(getClass());
+
+    private AbstractExcelItemReader<?> reader;
+    private int rowsPerPartition = -1;
+
+    public Map<String, ExecutionContext> partition(final int gridSize) {
+        final Map<String, ExecutionContext> partitions = new HashMap<String, ExecutionContext>();
+        try {
+            this.reader.openWorkbook();
+        } catch (Exception e) {
+            throw new IllegalStateException("Unable to open workbook '" + this.reader.getResource().getDescription()
+                    + "'", e);
+        }
+        try {
+            final int sheets = this.reader.getNumberOfSheets();
+            final String[] names = new String[sheets];
+            final int[] rows = new int[sheets];
+            long total = 0;
+            for (int i = 0; i < sheets; i++) {
+                rows[i] = this.reader.getNumberOfRows(i);
+                names[i] = this.reader.getSheet(i).getName();
+                if (rows[i] == Integer.MAX_VALUE) {
+                    rows[i] = -1;
+                }
+                total += Math.max(rows[i], 0);
+            }
+            final int size = this.getPartitionSize(total, gridSize);
+            for (int i = 0; i < sheets; i++) {
+                int start = 0;
+                do {
+                    final int end = (rows[i] >= 0 && start + size < rows[i]) ? start + size : -1;
+                    partitions.put(PARTITION_KEY + partitions.size(), this.createContext(i, names[i], start, end));
+                    start += size;
+                } while (rows[i] >= 0 && start < rows[i]);
+            }
+        } finally {
+            try {
+                this.reader.doClose();
+            } catch (Exception e) {
+                logger.warn("Exception whilst closing workbook.", e);
+            }
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("Created " + partitions.size() + " partitions for '"
+                    + this.reader.getResource().getDescription() + "'.");
+        }
+        return partitions;
+    }
+
+    private int getPartitionSize(final long total, final int gridSize) {
+        if (this.rowsPerPartition > 0) {
+            return this.rowsPerPartition;
+        }
+        final long size = (total + gridSize - 1) / Math.max(gridSize, 1);
+        return (int) Math.max(1, Math.min(size, Integer.MAX_VALUE));
+    }
+
+    private ExecutionContext createContext(final int sheet, final String name, final int start, final int end) {
+        final ExecutionContext context = new ExecutionContext();
+        context.putInt(SHEET_INDEX_KEY, sheet);
+        context.putString(SHEET_NAME_KEY, name);
+        context.putInt(START_ROW_KEY, start);
+        context.putInt(END_ROW_KEY, end);
+        return context;
+    }
+
+    public void afterPropertiesSet() throws Exception {
+        Assert.notNull(this.reader, "Reader must be set");
+        Assert.notNull(this.reader.getResource(), "Reader must have a resource");
+    }
+
+    /**
+     * Set the reader used to open the workbook and determine the number of rows in each sheet. This should be a
+     * dedicated instance and not the (step scoped) reader of the partitioned step.
+     *
+     * @param reader the reader
+     */
+    public void setReader(final AbstractExcelItemReader<?> reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Set the maximum number of rows in each partition. Defaults to -1, which divides the total number of rows by the
+     * grid size.
+     *
+     * @param rowsPerPartition the number of rows per partition
+     */
+    public void setRowsPerPartition(final int rowsPerPartition) {
+        this.rowsPerPartition = rowsPerPartition;
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.batch.item.excel;
+
+/**
+ * {@link RowCursor} implementation which uses {@link Sheet#getRow(int)} to move over the rows of a {@link Sheet},
+ * rows for which <code>null</code> is returned are skipped. This allows {@link Sheet} implementations which only
+ * support random access to provide a cursor.
+ */
+public class IndexedRowCursor extends StringRowCursor {
+
+    private final Sheet sheet;
+
+    private int rowIndex = -1;
+    private String[] cells;
+
+    public IndexedRowCursor(final Sheet sheet) {
+        super();
+        this.sheet = sheet;
+    }
+
+    public boolean next() {
+        final int numberOfRows = this.sheet.getNumberOfRows();
+        while (this.rowIndex + 1 < numberOfRows) {
+            this.rowIndex++;
+            this.cells = this.sheet.getRow(this.rowIndex);
+            if (this.cells != null) {
+                return true;
+            }
+        }
+        this.cells = null;
+        return false;
+    }
+
+    public int getRowIndex() {
+        return this.rowIndex;
+    }
+
+    public int getNumberOfCells() {
+        return this.cells.length;
+    }
+
+    public String getCell(final int column) {
+        return this.cells[column];
+    }
+
+    public String[] getCells() {
+        return this.cells;
+    }
+}
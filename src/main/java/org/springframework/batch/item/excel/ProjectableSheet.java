@@ -0,0 +1,32 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.batch.item.excel;
+
+/**
+ * {@link Sheet} which can skip the cells of the columns which aren't read while parsing a row, before their values
+ * are converted to a String.
+ */
+public interface ProjectableSheet extends Sheet {
+
+    /**
+     * Only convert the cells of the given columns of the rows which are parsed from now on. The cells of the other
+     * columns are returned as an empty String.
+     *
+     * @param columns the (0-based) indexes of the columns to convert, negative indexes are ignored
+     */
+    void includeColumns(int[] columns);
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.batch.item.excel;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.util.Date;
+
+/**
+ * {@link Sheet} which only exposes the given columns of the delegate sheet, in the given order. The columns are
+ * selected by index or by the name in the header of the delegate sheet. The cells of the other columns aren't read
+ * from the row cursor at all, and a {@link ProjectableSheet} doesn't convert them while parsing. Names are resolved
+ * when the first cell is read, as the header of a streaming sheet is only available once the first row has been
+ * parsed, so the rows parsed before that are converted completely.
+ */
+final class ProjectedSheet implements Sheet {
+
+    private static final Log logger = LogFactory.getLog(ProjectedSheet.class);
+
+    private final Sheet delegate;
+    private final String[] columnNames;
+    private final int[] columnIndexes;
+    private volatile int[] columns;
+    private volatile String[] header;
+
+    ProjectedSheet(final Sheet delegate, final String[] columnNames, final int[] columnIndexes) {
+        super();
+        this.delegate = delegate;
+        this.columnNames = columnNames;
+        this.columnIndexes = columnIndexes;
+        if (columnNames == null) {
+            this.includeColumns(columnIndexes);
+        }
+    }
+
+    /**
+     * Get the columns of the delegate sheet to expose, resolving the names on first use.
+     */
+    private int[] getColumns() {
+        int[] current = this.columns;
+        if (current == null) {
+            current = (this.columnNames != null) ? this.resolve(this.columnNames) : this.columnIndexes.clone();
+            this.columns = current;
+            if (this.columnNames != null) {
+                this.includeColumns(current);
+            }
+        }
+        return current;
+    }
+
+    private void includeColumns(final int[] columns) {
+        if (this.delegate instanceof ProjectableSheet) {
+            ((ProjectableSheet) this.delegate).includeColumns(columns);
+        }
+    }
+
+    private int[] resolve(final String[] columnNames) {
+        final String[] names = this.delegate.getHeader();
+        final int[] indexes = new int[columnNames.length];
+        for (int i = 0; i < columnNames.length; i++) {
+            indexes[i] = -1;
+            for (int j = 0; names != null && j < names.length; j++) {
+                if (columnNames[i].equals(names[j])) {
+                    indexes[i] = j;
+                    break;
+                }
+            }
+            if (indexes[i] < 0) {
+                logger.warn("Column [" + columnNames[i] + "] not found in sheet [" + this.delegate.getName()
+                        + "], its cells will be empty.");
+            }
+        }
+        return indexes;
+    }
+
+    private String[] project(final String[] row) {
+        if (row == null) {
+            return null;
+        }
+        final int[] columns = this.getColumns();
+        final String[] projected = new String[columns.length];
+        for (int i = 0; i < projected.length; i++) {
+            final int column = columns[i];
+            projected[i] = (column >= 0 && column < row.length) ? row[column] : null;
+        }
+        return projected;
+    }
+
+    public int getNumberOfRows() {
+        return this.delegate.getNumberOfRows();
+    }
+
+    public String getName() {
+        return this.delegate.getName();
+    }
+
+    public String[] getRow(final int rowNumber) {
+        return this.project(this.delegate.getRow(rowNumber));
+    }
+
+    public RowCursor createRowCursor() {
+        return new ProjectedRowCursor(this.delegate.createRowCursor());
+    }
+
+    /**
+     * The header contains the selected columns, columns selected by name which don't exist in the delegate sheet
+     * keep their name.
+     */
+    public String[] getHeader() {
+        String[] current = this.header;
+        if (current == null) {
+            final String[] header = this.delegate.getHeader();
+            current = (header != null) ? this.project(header) : new String[this.getNumberOfColumns()];
+            if (this.columnNames != null) {
+                final int[] columns = this.getColumns();
+                for (int i = 0; i < current.length; i++) {
+                    if (columns[i] < 0) {
+                        current[i] = this.columnNames[i];
+                    }
+                }
+            }
+            this.header = current;
+        }
+        return current;
+    }
+
+    public int getNumberOfColumns() {
+        return (this.columnNames != null) ? this.columnNames.length : this.columnIndexes.length;
+    }
+
+    /**
+     * {@link RowCursor} which only reads the selected columns from the delegate cursor.
+     */
+    private final class ProjectedRowCursor implements RowCursor {
+
+        private final RowCursor delegate;
+        private final String[] buffer = new String[getNumberOfColumns()];
+
+        private ProjectedRowCursor(final RowCursor delegate) {
+            super();
+            this.delegate = delegate;
+        }
+
+        public boolean next() {
+            return this.delegate.next();
+        }
+
+        public int getRowIndex() {
+            return this.delegate.getRowIndex();
+        }
+
+        public int getNumberOfCells() {
+            return this.buffer.length;
+        }
+
+        public String getCell(final int column) {
+            final int index = this.index(column);
+            return (index >= 0) ? this.delegate.getCell(index) : null;
+        }
+
+        public CellType getCellType(final int column) {
+            final int index = this.index(column);
+            return (index >= 0) ? this.delegate.getCellType(index) : CellType.BLANK;
+        }
+
+        public double getDouble(final int column) {
+            final int index = this.index(column);
+            return (index >= 0) ? this.delegate.getDouble(index) : 0;
+        }
+
+        public boolean getBoolean(final int column) {
+            final int index = this.index(column);
+            return index >= 0 && this.delegate.getBoolean(index);
+        }
+
+        public Date getDate(final int column) {
+            final int index = this.index(column);
+            return (index >= 0) ? this.delegate.getDate(index) : null;
+        }
+
+        public String[] getCells() {
+            for (int i = 0; i < this.buffer.length; i++) {
+                this.buffer[i] = this.getCell(i);
+            }
+            return this.buffer;
+        }
+
+        /**
+         * Get the column of the delegate cursor, or -1 when the column doesn't exist in the current row.
+         */
+        private int index(final int column) {
+            final int index = getColumns()[column];
+            return (index < this.delegate.getNumberOfCells()) ? index : -1;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.batch.item.excel;
+
+import java.util.Date;
+
+/**
+ * Forward-only cursor over the rows of a {@link Sheet}. Rows which don't exist in the sheet can be skipped by the
+ * cursor, {@link #getRowIndex()} tells on which row the cursor is. The cells of the current row can be inspected one
+ * by one, so that a row doesn't have to be turned into a String[] to find out it is blank, and can be read with the
+ * typed accessors to avoid converting numbers to a String and back.
+ */
+public interface RowCursor {
+
+    /**
+     * Move to the next row.
+     *
+     * @return <code>true</code> if the cursor is on a row, <code>false</code> when there are no more rows
+     */
+    boolean next();
+
+    /**
+     * Get the (0-based) index of the current row.
+     *
+     * @return the index of the row
+     */
+    int getRowIndex();
+
+    /**
+     * Get the number of cells in the current row.
+     *
+     * @return the number of cells
+     */
+    int getNumberOfCells();
+
+    /**
+     * Get the content of a single cell of the current row.
+     *
+     * @param column the (0-based) column of the cell
+     * @return the content of the cell
+     */
+    String getCell(int column);
+
+    /**
+     * Get the type of a cell of the current row.
+     *
+     * @param column the (0-based) column of the cell
+     * @return the type of the cell
+     */
+    CellType getCellType(int column);
+
+    /**
+     * Get the numeric value of a cell of the current row. For date cells this is the Excel date serial, blank cells
+     * are 0.
+     *
+     * @param column the (0-based) column of the cell
+     * @return the numeric value of the cell
+     * @throws IllegalArgumentException when the cell can't be read as a number
+     */
+    double getDouble(int column);
+
+    /**
+     * Get the boolean value of a cell of the current row, blank cells are <code>false</code>.
+     *
+     * @param column the (0-based) column of the cell
+     * @return the boolean value of the cell
+     */
+    boolean getBoolean(int column);
+
+    /**
+     * Get the value of a cell of the current row as a date, blank cells are <code>null</code>.
+     *
+     * @param column the (0-based) column of the cell
+     * @return the date value of the cell
+     * @throws IllegalArgumentException when the cell can't be read as a date
+     */
+    Date getDate(int column);
+
+    /**
+     * Get the current row as a String[]. Implementations may reuse the array for the following rows, so it is only
+     * valid until the cursor is moved and should be copied to keep it.
+     *
+     * @return the content of the row
+     */
+    String[] getCells();
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.batch.item.excel;
+
+/**
+ * Decides which rows are mapped, based on the raw values of the cells. Rows which aren't accepted are skipped by the
+ * reader before the {@link RowMapper} is called.
+ */
+public interface RowFilter {
+
+    /**
+     * Decide whether the row the cursor is on should be mapped. The cursor is only valid for the duration of the
+     * call and shouldn't be moved.
+     *
+     * @param sheet the current sheet
+     * @param row the cursor positioned on the row
+     * @param rowNum the index of the row
+     * @return <code>true</code> to map the row, <code>false</code> to skip it
+     */
+    boolean accept(Sheet sheet, RowCursor row, int rowNum);
+}
@@ -45,6 +45,13 @@ public interface Sheet {
      */
     String[] getRow(int rowNumber);
 
+    /**
+     * Create a forward-only cursor over the rows of this sheet, positioned before the first row.
+     *
+     * @return the cursor
+     */
+    RowCursor createRowCursor();
+
     /**
      * Gets the first row of the sheet and use it as header.
      * 
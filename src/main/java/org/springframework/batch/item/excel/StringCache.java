@@ -0,0 +1,80 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.batch.item.excel;
+
+/**
+ * Bounded cache which returns a canonical instance for equal strings, so that values repeated across many rows
+ * (codes, statuses, categories) are retained only once by the items. Strings are stored in a fixed size table indexed
+ * by their hash, a string replaces the entry it collides with. Lookups don't lock, concurrent use may at worst
+ * return a non canonical (but equal) instance.
+ */
+public class StringCache {
+
+    private final String[] entries;
+    private final int mask;
+
+    /**
+     * Constructor which takes the number of entries, which is rounded up to a power of two.
+     *
+     * @param size the number of entries
+     */
+    public StringCache(final int size) {
+        super();
+        int capacity = 1;
+        while (capacity < size) {
+            capacity <<= 1;
+        }
+        this.entries = new String[capacity];
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Get the canonical instance of the given value.
+     *
+     * @param value the value, may be <code>null</code>
+     * @return the cached instance equal to the value, or the value itself when it wasn't cached
+     */
+    public String get(final String value) {
+        if (value == null) {
+            return null;
+        }
+        int hash = value.hashCode();
+        hash ^= (hash >>> 16);
+        final int index = hash & this.mask;
+        final String entry = this.entries[index];
+        if (entry != null && entry.equals(value)) {
+            return entry;
+        }
+        this.entries[index] = value;
+        return value;
+    }
+
+    /**
+     * Replace the values in the given row with their canonical instance.
+     *
+     * @param row the row
+     * @return the row
+     */
+    public String[] get(final String[] row) {
+        if (row != null) {
+            for (int i = 0; i < row.length; i++) {
+                row[i] = this.get(row[i]);
+            }
+        }
+        return row;
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.batch.item.excel;
+
+import org.springframework.util.StringUtils;
+
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+
+/**
+ * Base class for {@link RowCursor} implementations which only have the content of the cells as String. The typed
+ * accessors parse the content of the cell, cells without text are {@link CellType#BLANK blank} and all other cells
+ * are reported as {@link CellType#STRING}.
+ */
+public abstract class StringRowCursor implements RowCursor {
+
+    private static final int DAY_MILLISECONDS = 24 * 60 * 60 * 1000;
+
+    public CellType getCellType(final int column) {
+        return StringUtils.hasText(this.getCell(column)) ? CellType.STRING : CellType.BLANK;
+    }
+
+    /**
+     * Parses the content of the cell, blank cells are 0.
+     */
+    public double getDouble(final int column) {
+        final String value = this.getCell(column);
+        if (!StringUtils.hasText(value)) {
+            return 0;
+        }
+        return Double.parseDouble(value.trim());
+    }
+
+    /**
+     * Parses the content of the cell, blank cells are <code>false</code>.
+     */
+    public boolean getBoolean(final int column) {
+        final String value = this.getCell(column);
+        return value != null && Boolean.parseBoolean(value.trim());
+    }
+
+    /**
+     * Parses the content of the cell as an Excel date serial, blank cells are <code>null</code>.
+     */
+    public Date getDate(final int column) {
+        final String value = this.getCell(column);
+        if (!StringUtils.hasText(value)) {
+            return null;
+        }
+        return getJavaDate(Double.parseDouble(value.trim()), this.isDate1904());
+    }
+
+    /**
+     * Whether the workbook uses the 1904 date system, which counts the date serials from the 1st of January 1904
+     * instead of 1900. Defaults to <code>false</code>.
+     */
+    protected boolean isDate1904() {
+        return false;
+    }
+
+    /**
+     * Convert an Excel date serial to a date in the default time zone, without depending on the library which read the
+     * sheet. Negative serials aren't valid dates and are returned as <code>null</code>.
+     *
+     * @param serial the date serial
+     * @param date1904 <code>true</code> if the serial is in the 1904 date system, otherwise in the 1900 one
+     */
+    static Date getJavaDate(final double serial, final boolean date1904) {
+        if (serial < 0) {
+            return null;
+        }
+        final int wholeDays = (int) Math.floor(serial);
+        final int milliseconds = (int) ((serial - wholeDays) * DAY_MILLISECONDS + 0.5);
+        final int startYear;
+        final int dayAdjust;
+        if (date1904) {
+            // serial 0 is the 1st of January 1904
+            startYear = 1904;
+            dayAdjust = 1;
+        } else {
+            // Excel treats 1900 as a leap year, serial 60 is the non-existent 29th of February
+            startYear = 1900;
+            dayAdjust = (wholeDays < 61) ? 0 : -1;
+        }
+        final Calendar calendar = new GregorianCalendar();
+        calendar.clear();
+        calendar.set(startYear, Calendar.JANUARY, wholeDays + dayAdjust, 0, 0, 0);
+        calendar.set(Calendar.MILLISECOND, milliseconds);
+        return calendar.getTime();
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.batch.item.excel;
+
+/**
+ * {@link RowMapper} which can map a row directly from a {@link RowCursor}, reading the cells with the typed
+ * accessors instead of converting the whole row to a String[] first. The reader uses this method whenever the row is
+ * read from a cursor. The String[] variant is still used when the row has been read ahead or by another thread.
+ *
+ * @param <T> the type
+ */
+public interface TypedRowMapper<T> extends RowMapper<T> {
+
+    /**
+     * Map the row the cursor is on. The cursor is only valid for the duration of the call.
+     *
+     * @param sheet the current sheet
+     * @param row the cursor positioned on the row to be mapped
+     * @param rowNum of the current row
+     * @return mapped object of type T
+     * @throws Exception if error occured while parsing.
+     */
+    T mapRow(Sheet sheet, RowCursor row, int rowNum) throws Exception;
+}
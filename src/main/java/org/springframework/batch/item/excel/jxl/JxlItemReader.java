@@ -35,6 +35,7 @@ import org.springframework.util.ClassUtils;
 public class JxlItemReader<T> extends AbstractExcelItemReader<T> {
 
     private Workbook workbook;
+    private JxlSheet[] sheets;
 
     public JxlItemReader() {
         super();
@@ -44,6 +45,7 @@ public class JxlItemReader<T> extends AbstractExcelItemReader<T> {
     @Override
     protected void openExcelFile(final Resource resource) throws Exception {
         this.workbook = WorkbookParser.getWorkbook(resource.getInputStream());
+        this.sheets = new JxlSheet[this.workbook.getNumberOfSheets()];
     }
 
     @Override
@@ -51,12 +53,16 @@ public class JxlItemReader<T> extends AbstractExcelItemReader<T> {
         if (this.workbook != null) {
             this.workbook.close();
         }
+        this.sheets = null;
     }
 
     @Override
     protected Sheet getSheet(final int sheet) {
         if (sheet < this.workbook.getNumberOfSheets()) {
-            return new JxlSheet(this.workbook.getSheet(sheet));
+            if (this.sheets[sheet] == null) {
+                this.sheets[sheet] = new JxlSheet(this.workbook.getSheet(sheet));
+            }
+            return this.sheets[sheet];
         }
         return null;
     }
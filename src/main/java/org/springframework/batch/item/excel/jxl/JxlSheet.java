@@ -1,9 +1,18 @@
 package org.springframework.batch.item.excel.jxl;
 
+import jxl.BooleanCell;
 import jxl.Cell;
+import jxl.DateCell;
+import jxl.ErrorCell;
+import jxl.NumberCell;
 import org.springframework.jxl.util.JxlUtils;
+import org.springframework.batch.item.excel.CellType;
+import org.springframework.batch.item.excel.RowCursor;
 import org.springframework.batch.item.excel.Sheet;
 
+import java.util.Date;
+import java.util.TimeZone;
+
 /**
  * {@link Sheet} implementation for JXL.
  * 
@@ -12,8 +21,15 @@ import org.springframework.batch.item.excel.Sheet;
  */
 public class JxlSheet implements Sheet {
 
+    /** Number of days between the Excel epoch (1899-12-30) and the Java epoch. */
+    private static final int EXCEL_EPOCH_OFFSET = 25569;
+
+    private static final double MILLIS_PER_DAY = 24 * 60 * 60 * 1000;
+
     private final jxl.Sheet delegate;
 
+    private String[] header;
+
     /**
      * Constructor which takes the delegate sheet.
      * 
@@ -32,10 +48,13 @@ public class JxlSheet implements Sheet {
     }
 
     /**
-     * {@inheritDoc}
+     * The header is read once and retained, the returned array shouldn't be modified.
      */
     public String[] getHeader() {
-        return this.getRow(0);
+        if (this.header == null) {
+            this.header = this.getRow(0);
+        }
+        return this.header;
     }
 
     /**
@@ -46,6 +65,13 @@ public class JxlSheet implements Sheet {
         return JxlUtils.extractContents(row);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    public RowCursor createRowCursor() {
+        return new JxlRowCursor();
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -60,4 +86,109 @@ public class JxlSheet implements Sheet {
         return this.delegate.getColumns();
     }
 
+    /**
+     * {@link RowCursor} which moves over all the rows of the sheet. The array returned by {@link #getCells()} is
+     * reused for the following rows.
+     */
+    private final class JxlRowCursor implements RowCursor {
+
+        private int rowIndex = -1;
+        private Cell[] row;
+        private String[] buffer;
+
+        public boolean next() {
+            if (this.rowIndex + 1 < delegate.getRows()) {
+                this.rowIndex++;
+                this.row = delegate.getRow(this.rowIndex);
+                return true;
+            }
+            this.row = null;
+            return false;
+        }
+
+        public int getRowIndex() {
+            return this.rowIndex;
+        }
+
+        public int getNumberOfCells() {
+            return this.row.length;
+        }
+
+        public String getCell(final int column) {
+            final Cell cell = this.row[column];
+            return JxlUtils.isEmpty(cell) ? null : cell.getContents();
+        }
+
+        public String[] getCells() {
+            this.buffer = JxlUtils.extractContents(this.row, this.buffer);
+            return this.buffer;
+        }
+
+        public CellType getCellType(final int column) {
+            final Cell cell = this.getJxlCell(column);
+            if (cell instanceof NumberCell) {
+                return CellType.NUMERIC;
+            } else if (cell instanceof DateCell) {
+                return CellType.DATE;
+            } else if (cell instanceof BooleanCell) {
+                return CellType.BOOLEAN;
+            } else if (cell instanceof ErrorCell) {
+                return CellType.ERROR;
+            }
+            return JxlUtils.isEmpty(cell) ? CellType.BLANK : CellType.STRING;
+        }
+
+        /**
+         * Dates are read by JXL as GMT, which makes converting them back to an Excel date serial straightforward.
+         */
+        public double getDouble(final int column) {
+            final Cell cell = this.getJxlCell(column);
+            if (cell instanceof NumberCell) {
+                return ((NumberCell) cell).getValue();
+            } else if (cell instanceof DateCell) {
+                return ((DateCell) cell).getDate().getTime() / MILLIS_PER_DAY + EXCEL_EPOCH_OFFSET;
+            } else if (JxlUtils.isEmpty(cell)) {
+                return 0;
+            } else if (cell instanceof BooleanCell || cell instanceof ErrorCell) {
+                throw new IllegalArgumentException("Cannot read cells of type " + cell.getType() + " as a number");
+            }
+            return Double.parseDouble(cell.getContents().trim());
+        }
+
+        public boolean getBoolean(final int column) {
+            final Cell cell = this.getJxlCell(column);
+            if (cell instanceof BooleanCell) {
+                return ((BooleanCell) cell).getValue();
+            } else if (cell instanceof NumberCell) {
+                return ((NumberCell) cell).getValue() != 0;
+            }
+            return !JxlUtils.isEmpty(cell) && Boolean.parseBoolean(cell.getContents().trim());
+        }
+
+        /**
+         * JXL reads dates as GMT, they are converted to the same date and time in the default time zone as the other
+         * readers return.
+         */
+        public Date getDate(final int column) {
+            final Cell cell = this.getJxlCell(column);
+            if (cell instanceof DateCell) {
+                return toLocalDate(((DateCell) cell).getDate());
+            } else if (JxlUtils.isEmpty(cell)) {
+                return null;
+            }
+            throw new IllegalArgumentException("Cannot read cells of type " + cell.getType() + " as a date");
+        }
+
+        private Date toLocalDate(final Date date) {
+            final TimeZone timeZone = TimeZone.getDefault();
+            final long time = date.getTime();
+            // the offset at the local time, which differs from the offset at the GMT time around a DST change
+            final long local = time - timeZone.getOffset(time);
+            return new Date(time - timeZone.getOffset(local));
+        }
+
+        private Cell getJxlCell(final int column) {
+            return (column < this.row.length) ? this.row[column] : null;
+        }
+    }
 }
@@ -0,0 +1,223 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.batch.item.excel.mapping;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.batch.item.excel.ArrayRowCursor;
+import org.springframework.batch.item.excel.CellType;
+import org.springframework.batch.item.excel.RowCursor;
+import org.springframework.batch.item.excel.Sheet;
+import org.springframework.batch.item.excel.TypedRowMapper;
+import org.springframework.batch.item.excel.transform.ColumnToAttributeConverter;
+import org.springframework.batch.item.excel.transform.PassThroughColumnToAttributeConverter;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.util.Assert;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.util.Date;
+
+/**
+ * {@link TypedRowMapper} which binds the columns of a row to the fields of the target type with the same name as the
+ * (converted) column header. The cells are read with the typed accessors of the {@link RowCursor}, so numbers are
+ * bound to primitive fields without being formatted as a String and parsed again. The binding of the columns to the
+ * fields is determined once per sheet.
+ *
+ * <p>Supported field types are the primitives and their wrappers, {@link String}, {@link BigDecimal} and
+ * {@link Date}. Dates are read from date (or numeric) cells, use the {@link DefaultRowMapper} for dates stored as
+ * text. Blank cells leave the field untouched and columns without a matching field are ignored.</p>
+ *
+ * @param <T> the type
+ */
+public class FieldRowMapper<T> implements TypedRowMapper<T>, InitializingBean {
+
+    private final Log logger = LogFactory.getLog(getClass());
+
+    private Class<T> targetType;
+
+    private ColumnToAttributeConverter converter = new PassThroughColumnToAttributeConverter();
+
+    private volatile Binding<T> binding;
+
+    public FieldRowMapper() {
+        super();
+    }
+
+    public FieldRowMapper(final Class<T> targetType) {
+        super();
+        this.targetType = targetType;
+    }
+
+    public T mapRow(final Sheet sheet, final RowCursor row, final int rowNum) throws Exception {
+        final Binding<T> current = this.getBinding(sheet);
+        final Field[] fields = current.fields;
+        final T target = BeanUtils.instantiateClass(current.constructor);
+        final int numberOfCells = Math.min(row.getNumberOfCells(), fields.length);
+        for (int i = 0; i < numberOfCells; i++) {
+            final Field field = fields[i];
+            if (field != null && row.getCellType(i) != CellType.BLANK) {
+                this.setField(target, field, row, i);
+            }
+        }
+        return target;
+    }
+
+    /**
+     * Maps rows which have already been converted to a String[], for instance when they have been read ahead.
+     */
+    public T mapRow(final Sheet sheet, final String[] row, final int rowNum) throws Exception {
+        return this.mapRow(sheet, new ArrayRowCursor(row, rowNum), rowNum);
+    }
+
+    private void setField(final T target, final Field field, final RowCursor row, final int column)
+            throws IllegalAccessException {
+        final Class<?> type = field.getType();
+        if (type == double.class) {
+            field.setDouble(target, row.getDouble(column));
+        } else if (type == int.class) {
+            field.setInt(target, (int) toLong(row, column, field, Integer.MIN_VALUE, Integer.MAX_VALUE));
+        } else if (type == long.class) {
+            field.setLong(target, toLong(row, column, field, Long.MIN_VALUE, Long.MAX_VALUE));
+        } else if (type == boolean.class) {
+            field.setBoolean(target, row.getBoolean(column));
+        } else if (type == float.class) {
+            field.setFloat(target, (float) row.getDouble(column));
+        } else if (type == short.class) {
+            field.setShort(target, (short) toLong(row, column, field, Short.MIN_VALUE, Short.MAX_VALUE));
+        } else if (type == byte.class) {
+            field.setByte(target, (byte) toLong(row, column, field, Byte.MIN_VALUE, Byte.MAX_VALUE));
+        } else if (type == String.class) {
+            field.set(target, row.getCell(column));
+        } else if (type == Double.class) {
+            field.set(target, row.getDouble(column));
+        } else if (type == Integer.class) {
+            field.set(target, (int) toLong(row, column, field, Integer.MIN_VALUE, Integer.MAX_VALUE));
+        } else if (type == Long.class) {
+            field.set(target, toLong(row, column, field, Long.MIN_VALUE, Long.MAX_VALUE));
+        } else if (type == Boolean.class) {
+            field.set(target, row.getBoolean(column));
+        } else if (type == Float.class) {
+            field.set(target, (float) row.getDouble(column));
+        } else if (type == Short.class) {
+            field.set(target, (short) toLong(row, column, field, Short.MIN_VALUE, Short.MAX_VALUE));
+        } else if (type == Byte.class) {
+            field.set(target, (byte) toLong(row, column, field, Byte.MIN_VALUE, Byte.MAX_VALUE));
+        } else if (type == BigDecimal.class) {
+            field.set(target, toBigDecimal(row, column));
+        } else if (type == Date.class) {
+            field.set(target, row.getDate(column));
+        } else {
+            throw new IllegalArgumentException("Cannot bind column [" + column + "] to field [" + field.getName()
+                    + "] of type [" + type.getName() + "]");
+        }
+    }
+
+    private static long toLong(final RowCursor row, final int column, final Field field, final long min,
+                               final long max) {
+        final double value = row.getDouble(column);
+        if (value != Math.rint(value) || value < min || value > max) {
+            throw new NumberFormatException("Cannot bind [" + value + "] of column [" + column + "] to field ["
+                    + field.getName() + "] of type [" + field.getType().getName() + "]");
+        }
+        return (long) value;
+    }
+
+    private static BigDecimal toBigDecimal(final RowCursor row, final int column) {
+        if (row.getCellType(column) == CellType.STRING) {
+            return new BigDecimal(row.getCell(column).trim());
+        }
+        return BigDecimal.valueOf(row.getDouble(column));
+    }
+
+    /**
+     * Get the fields to bind the columns of the given sheet to, which are determined once per sheet.
+     */
+    private Binding<T> getBinding(final Sheet sheet) {
+        Binding<T> current = this.binding;
+        if (current == null || current.sheet != sheet) {
+            current = new Binding<T>(sheet, this.getConstructor(), this.createFields(sheet));
+            this.binding = current;
+        }
+        return current;
+    }
+
+    private Constructor<T> getConstructor() {
+        try {
+            return this.targetType.getDeclaredConstructor();
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("No default constructor found on [" + this.targetType.getName() + "]", e);
+        }
+    }
+
+    private Field[] createFields(final Sheet sheet) {
+        final String[] header = sheet.getHeader();
+        final Field[] fields = new Field[(header != null) ? header.length : 0];
+        for (int i = 0; i < fields.length; i++) {
+            final String name = this.converter.toAttribute(header[i]);
+            final Field field = (name != null) ? ReflectionUtils.findField(this.targetType, name) : null;
+            if (field == null) {
+                if (logger.isDebugEnabled()) {
+                    logger.debug("No field [" + name + "] found on [" + this.targetType.getName()
+                            + "], ignoring column [" + i + "] of sheet [" + sheet.getName() + "].");
+                }
+                continue;
+            }
+            ReflectionUtils.makeAccessible(field);
+            fields[i] = field;
+        }
+        return fields;
+    }
+
+    public void setTargetType(final Class<T> targetType) {
+        this.targetType = targetType;
+    }
+
+    /**
+     * Set the {@link ColumnToAttributeConverter} which converts the column headers to field names. Defaults to
+     * {@link PassThroughColumnToAttributeConverter}.
+     *
+     * @param converter to use
+     */
+    public void setConverter(final ColumnToAttributeConverter converter) {
+        this.converter = converter;
+    }
+
+    public void afterPropertiesSet() throws Exception {
+        Assert.notNull(this.targetType, "The target type must be set");
+        Assert.notNull(this.converter, "The ColumnToAttributeConverter must be set");
+    }
+
+    /**
+     * The constructor of the target type and the fields the columns of a sheet are bound to.
+     */
+    private static final class Binding<T> {
+
+        private final Sheet sheet;
+        private final Constructor<T> constructor;
+        private final Field[] fields;
+
+        private Binding(final Sheet sheet, final Constructor<T> constructor, final Field[] fields) {
+            this.sheet = sheet;
+            this.constructor = constructor;
+            this.fields = fields;
+        }
+    }
+}
@@ -19,7 +19,8 @@ import org.springframework.batch.item.excel.Sheet;
 
 /**
  * Pass through {@link RowMapper} useful for passing the orginal String[]
- * back directly rather than a mapped object.
+ * back directly rather than a mapped object. The row is copied, as the
+ * reader may reuse the array for the next row.
  * 
  * @author Marten Deinum
  * 
@@ -27,7 +28,7 @@ import org.springframework.batch.item.excel.Sheet;
 public class PassThroughRowMapper implements RowMapper<String[]> {
 
     public String[] mapRow(final Sheet sheet, final String[] row, final int rowNum) throws Exception {
-        return row;
+        return (row != null) ? row.clone() : null;
     }
 
 }
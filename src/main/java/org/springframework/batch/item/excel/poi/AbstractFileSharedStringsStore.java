@@ -0,0 +1,170 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.batch.item.excel.poi;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+
+/**
+ * Base class for {@link SharedStringsStore} implementations which keep the strings in a temporary file instead of on
+ * the heap. The strings are written, UTF-8 encoded, to a data file and the offset of each string is written to an
+ * index file. Once the first string is requested no more strings can be added and subclasses are asked to open the
+ * files for reading.
+ */
+public abstract class AbstractFileSharedStringsStore implements SharedStringsStore {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private File directory;
+
+    private File dataFile;
+    private File indexFile;
+    private DataOutputStream data;
+    private DataOutputStream index;
+    private long offset = 0;
+    private int size = 0;
+    private boolean sealed = false;
+
+    public void add(final String value) {
+        if (this.sealed) {
+            throw new IllegalStateException("Strings cannot be added once the store is being read from.");
+        }
+        try {
+            if (this.data == null) {
+                this.dataFile = File.createTempFile("shared-strings", ".dat", this.directory);
+                this.indexFile = File.createTempFile("shared-strings", ".idx", this.directory);
+                this.data = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(this.dataFile)));
+                this.index = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(this.indexFile)));
+            }
+            final byte[] bytes = value.getBytes(UTF_8);
+            this.index.writeLong(this.offset);
+            this.data.write(bytes);
+            this.offset += bytes.length;
+            this.size++;
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to write shared string to [" + this.dataFile + "]", e);
+        }
+    }
+
+    public String get(final int index) {
+        if (!this.sealed) {
+            this.seal();
+        }
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+        }
+        try {
+            return this.read(index);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to read shared string [" + index + "] from [" + this.dataFile
+                    + "]", e);
+        }
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public void close() {
+        this.closeFiles();
+        this.closeStreams();
+        delete(this.dataFile);
+        delete(this.indexFile);
+        this.dataFile = null;
+        this.indexFile = null;
+        this.offset = 0;
+        this.size = 0;
+        this.sealed = false;
+    }
+
+    /**
+     * Set the directory in which the temporary files are created, defaults to the system temporary directory.
+     *
+     * @param directory the directory
+     */
+    public void setDirectory(final File directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Open the files for reading. The index file contains an offset (long) for each string followed by the total
+     * length of the data file, so string <code>i</code> spans the bytes between offset <code>i</code> and
+     * <code>i + 1</code>.
+     *
+     * @param dataFile the file containing the strings
+     * @param indexFile the file containing the offsets
+     * @throws IOException when the files cannot be opened
+     */
+    protected abstract void openFiles(File dataFile, File indexFile) throws IOException;
+
+    /**
+     * Read the string at the given index from the files.
+     *
+     * @param index the index of the string
+     * @return the string
+     * @throws IOException when the string cannot be read
+     */
+    protected abstract String read(int index) throws IOException;
+
+    /**
+     * Release the files opened by {@link #openFiles(File, File)}.
+     */
+    protected abstract void closeFiles();
+
+    protected static String decode(final byte[] bytes) {
+        return new String(bytes, UTF_8);
+    }
+
+    private void seal() {
+        this.sealed = true;
+        if (this.data == null) {
+            return;
+        }
+        try {
+            this.index.writeLong(this.offset);
+            this.closeStreams();
+            this.openFiles(this.dataFile, this.indexFile);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to open shared strings file [" + this.dataFile + "]", e);
+        }
+    }
+
+    private void closeStreams() {
+        try {
+            if (this.data != null) {
+                this.data.close();
+            }
+            if (this.index != null) {
+                this.index.close();
+            }
+        } catch (IOException e) {
+            // ignore, the files are either read or removed afterwards
+        }
+        this.data = null;
+        this.index = null;
+    }
+
+    private static void delete(final File file) {
+        if (file != null && !file.delete()) {
+            file.deleteOnExit();
+        }
+    }
+}
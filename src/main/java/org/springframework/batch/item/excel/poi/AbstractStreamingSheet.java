@@ -0,0 +1,229 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.batch.item.excel.poi;
+
+import org.springframework.batch.item.excel.ProjectableSheet;
+import org.springframework.batch.item.excel.RowCursor;
+import org.springframework.batch.item.excel.Sheet;
+import org.springframework.batch.item.excel.StringRowCursor;
+
+/**
+ * Base class for forward-only {@link Sheet} implementations which parse a sheet as a stream of rows. Only the row
+ * currently being parsed is kept in memory, so rows have to be requested in ascending order. The only exception is
+ * the header (row 0) which is retained once it has been read.
+ */
+abstract class AbstractStreamingSheet implements ProjectableSheet {
+
+    protected static final String[] EMPTY_ROW = new String[0];
+
+    private final String name;
+    private final boolean date1904;
+
+    private String[] header;
+    private int rowIndex = -1;
+    private String[] row;
+    private int lastRequestedRow = -1;
+    private boolean finished = false;
+    private boolean[] includedColumns;
+
+    /**
+     * @param name the name of the sheet
+     * @param date1904 whether the workbook uses the 1904 date system, the date serials of the cells are converted
+     * accordingly by the {@link RowCursor}
+     */
+    protected AbstractStreamingSheet(final String name, final boolean date1904) {
+        super();
+        this.name = name;
+        this.date1904 = date1904;
+    }
+
+    /**
+     * Parse the next row of the sheet.
+     *
+     * @param previousRowIndex the index of the previously parsed row, -1 if none has been parsed yet
+     * @return <code>true</code> if a row was parsed, <code>false</code> when the end of the sheet has been reached
+     */
+    protected abstract boolean parseNextRow(int previousRowIndex);
+
+    /**
+     * {@inheritDoc}
+     */
+    public void includeColumns(final int[] columns) {
+        int length = 0;
+        for (final int column : columns) {
+            length = Math.max(length, column + 1);
+        }
+        final boolean[] included = new boolean[length];
+        for (final int column : columns) {
+            if (column >= 0) {
+                included[column] = true;
+            }
+        }
+        this.includedColumns = included;
+    }
+
+    /**
+     * Whether the cells of the given column have to be converted, see {@link #includeColumns(int[])}.
+     */
+    protected final boolean isIncluded(final int column) {
+        final boolean[] included = this.includedColumns;
+        return included == null || (column < included.length && included[column]);
+    }
+
+    /**
+     * Called from {@link #parseNextRow(int)} to register the row which has just been parsed.
+     *
+     * @param index the index of the row
+     * @param cells the content of the row
+     */
+    protected final void rowParsed(final int index, final String[] cells) {
+        this.rowIndex = index;
+        this.row = cells;
+        if (index == 0) {
+            this.header = cells;
+        }
+    }
+
+    /**
+     * The number of rows is only known once the sheet has been read completely, until then
+     * {@link Integer#MAX_VALUE} is returned and the end of the sheet is signalled by {@link #getRow(int)}
+     * returning <code>null</code>.
+     */
+    public int getNumberOfRows() {
+        if (this.finished) {
+            return this.rowIndex + 1;
+        }
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Get the row as a String[]. Rows which aren't present in the file are returned as an empty array and
+     * <code>null</code> is returned when the end of the sheet has been reached.
+     *
+     * @param rowNumber the row number to read, must be larger than the previously requested row.
+     * @return a String[] or null
+     */
+    public String[] getRow(final int rowNumber) {
+        if (rowNumber <= this.lastRequestedRow) {
+            if (rowNumber == 0) {
+                return (this.header != null) ? this.header : EMPTY_ROW;
+            }
+            throw new IllegalStateException("Row [" + rowNumber + "] of sheet [" + this.name
+                    + "] has already been read, rows can only be read in ascending order.");
+        }
+        this.lastRequestedRow = rowNumber;
+        while (this.rowIndex < rowNumber && !this.finished) {
+            if (!this.parseNextRow(this.rowIndex)) {
+                this.row = null;
+                this.finished = true;
+            }
+        }
+        if (this.rowIndex == rowNumber && this.row != null) {
+            final String[] result = this.row;
+            this.row = null;
+            return result;
+        }
+        if (this.finished && rowNumber > this.rowIndex) {
+            return null;
+        }
+        return EMPTY_ROW;
+    }
+
+    /**
+     * Create a cursor which parses the rows as it moves forward. The cursor shares the position in the sheet with
+     * {@link #getRow(int)}.
+     */
+    public RowCursor createRowCursor() {
+        return new StreamingRowCursor();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public String[] getHeader() {
+        if (this.header == null && this.lastRequestedRow < 0) {
+            return this.getRow(0);
+        }
+        return this.header;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int getNumberOfColumns() {
+        final String[] columns = this.getHeader();
+        if (columns != null) {
+            return columns.length;
+        }
+        return 0;
+    }
+
+    /**
+     * Release the resources held by this sheet, by default nothing.
+     */
+    void close() {
+    }
+
+    /**
+     * {@link RowCursor} which moves over the rows as they are parsed.
+     */
+    private final class StreamingRowCursor extends StringRowCursor {
+
+        private int rowIndex = -1;
+        private String[] cells;
+
+        public boolean next() {
+            if (!finished && parseNextRow(AbstractStreamingSheet.this.rowIndex)) {
+                this.rowIndex = AbstractStreamingSheet.this.rowIndex;
+                this.cells = row;
+                return true;
+            }
+            finished = true;
+            row = null;
+            this.cells = null;
+            return false;
+        }
+
+        public int getRowIndex() {
+            return this.rowIndex;
+        }
+
+        public int getNumberOfCells() {
+            return this.cells.length;
+        }
+
+        public String getCell(final int column) {
+            return this.cells[column];
+        }
+
+        public String[] getCells() {
+            return this.cells;
+        }
+
+        @Override
+        protected boolean isDate1904() {
+            return date1904;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.batch.item.excel.poi;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@link AbstractFileSharedStringsStore} which reads the strings from the temporary files on demand and keeps the
+ * most recently used ones in a bounded LRU cache. The number of cache hits and misses is recorded so the cache can be
+ * sized for the data at hand.
+ */
+public class CachingFileSharedStringsStore extends AbstractFileSharedStringsStore {
+
+    public static final int DEFAULT_CACHE_SIZE = 10000;
+
+    private int cacheSize = DEFAULT_CACHE_SIZE;
+    private Map<Integer, String> cache;
+    private final ByteBuffer offsets = ByteBuffer.allocate(16);
+
+    private RandomAccessFile dataFile;
+    private RandomAccessFile indexFile;
+
+    private long hits = 0;
+    private long misses = 0;
+
+    @Override
+    protected void openFiles(final File dataFile, final File indexFile) throws IOException {
+        this.dataFile = new RandomAccessFile(dataFile, "r");
+        this.indexFile = new RandomAccessFile(indexFile, "r");
+        this.hits = 0;
+        this.misses = 0;
+        final int maximumSize = this.cacheSize;
+        this.cache = new LinkedHashMap<Integer, String>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Integer, String> eldest) {
+                return size() > maximumSize;
+            }
+        };
+    }
+
+    @Override
+    protected String read(final int index) throws IOException {
+        String value = this.cache.get(index);
+        if (value != null) {
+            this.hits++;
+            return value;
+        }
+        this.misses++;
+        this.offsets.clear();
+        readFully(this.indexFile.getChannel(), this.offsets, index * 8L);
+        final long start = this.offsets.getLong(0);
+        final byte[] bytes = new byte[(int) (this.offsets.getLong(8) - start)];
+        readFully(this.dataFile.getChannel(), ByteBuffer.wrap(bytes), start);
+        value = decode(bytes);
+        this.cache.put(index, value);
+        return value;
+    }
+
+    @Override
+    protected void closeFiles() {
+        close(this.dataFile);
+        close(this.indexFile);
+        this.dataFile = null;
+        this.indexFile = null;
+        this.cache = null;
+    }
+
+    /**
+     * Set the maximum number of strings kept in the cache, defaults to {@value #DEFAULT_CACHE_SIZE}.
+     *
+     * @param cacheSize the maximum number of cached strings
+     */
+    public void setCacheSize(final int cacheSize) {
+        this.cacheSize = cacheSize;
+    }
+
+    /**
+     * The number of lookups which were served from the cache since the last file was opened.
+     *
+     * @return the number of cache hits
+     */
+    public long getHits() {
+        return this.hits;
+    }
+
+    /**
+     * The number of lookups which had to be read from disk since the last file was opened.
+     *
+     * @return the number of cache misses
+     */
+    public long getMisses() {
+        return this.misses;
+    }
+
+    private static void readFully(final FileChannel channel, final ByteBuffer buffer, final long position)
+            throws IOException {
+        long offset = position;
+        while (buffer.hasRemaining()) {
+            final int read = channel.read(buffer, offset);
+            if (read < 0) {
+                throw new EOFException("Unexpected end of file at position " + offset);
+            }
+            offset += read;
+        }
+    }
+
+    private static void close(final RandomAccessFile file) {
+        if (file != null) {
+            try {
+                file.close();
+            } catch (IOException e) {
+                // ignore, the file is removed afterwards
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.batch.item.excel.poi;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link SharedStringsStore} which keeps all the strings on the heap. This is the fastest option and is fine unless
+ * the shared strings table is very large.
+ */
+public class InMemorySharedStringsStore implements SharedStringsStore {
+
+    private final List<String> strings = new ArrayList<String>();
+
+    public void add(final String value) {
+        this.strings.add(value);
+    }
+
+    public String get(final int index) {
+        return this.strings.get(index);
+    }
+
+    public int size() {
+        return this.strings.size();
+    }
+
+    public void close() {
+        this.strings.clear();
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.batch.item.excel.poi;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * {@link AbstractFileSharedStringsStore} which memory maps the temporary files. The strings don't take up any heap
+ * until they are requested and the operating system decides which parts of the files stay in memory.
+ */
+public class MappedFileSharedStringsStore extends AbstractFileSharedStringsStore {
+
+    private static final int SEGMENT_BITS = 30;
+    private static final long SEGMENT_SIZE = 1L << SEGMENT_BITS;
+
+    private MappedByteBuffer[] data;
+    private MappedByteBuffer[] index;
+
+    @Override
+    protected void openFiles(final File dataFile, final File indexFile) throws IOException {
+        this.data = map(dataFile);
+        this.index = map(indexFile);
+    }
+
+    @Override
+    protected String read(final int index) throws IOException {
+        final long start = readLong(index * 8L);
+        final long end = readLong(index * 8L + 8);
+        final byte[] bytes = new byte[(int) (end - start)];
+        long position = start;
+        int done = 0;
+        while (done < bytes.length) {
+            final ByteBuffer segment = this.data[(int) (position >>> SEGMENT_BITS)].duplicate();
+            segment.position((int) (position & (SEGMENT_SIZE - 1)));
+            final int length = Math.min(bytes.length - done, segment.remaining());
+            segment.get(bytes, done, length);
+            done += length;
+            position += length;
+        }
+        return decode(bytes);
+    }
+
+    @Override
+    protected void closeFiles() {
+        this.data = null;
+        this.index = null;
+    }
+
+    private long readLong(final long position) {
+        // offsets are 8 byte aligned, so they never span two segments
+        return this.index[(int) (position >>> SEGMENT_BITS)].getLong((int) (position & (SEGMENT_SIZE - 1)));
+    }
+
+    private static MappedByteBuffer[] map(final File file) throws IOException {
+        final RandomAccessFile raf = new RandomAccessFile(file, "r");
+        try {
+            final FileChannel channel = raf.getChannel();
+            final long length = channel.size();
+            final MappedByteBuffer[] segments = new MappedByteBuffer[(int) ((length + SEGMENT_SIZE - 1) >>> SEGMENT_BITS)];
+            for (int i = 0; i < segments.length; i++) {
+                final long position = i * SEGMENT_SIZE;
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(SEGMENT_SIZE, length - position));
+            }
+            return segments;
+        } finally {
+            raf.close();
+        }
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.batch.item.excel.poi;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.DataFormatter;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Formats the value of numeric cells. By default numbers are formatted close to the 'General' format, without
+ * exponent: integral values are formatted as a long (with a cache for small values), other values with the digits
+ * of {@link Double#toString(double)} in plain notation (12.3 is formatted as <code>12.3</code> instead of the exact
+ * binary value of the double). These digits parse back to the same double, but before Java 19 they aren't always the
+ * shortest such digits.
+ *
+ * <p>The result is the same as the 'General' format of {@link DataFormatter}, except that all the digits are kept
+ * where {@link DataFormatter} rounds to 10 decimals: <code>0.1 + 0.2</code> is formatted as
+ * <code>0.30000000000000004</code> instead of <code>0.3</code> and <code>1e-12</code> as
+ * <code>0.000000000001</code> instead of <code>0</code>.</p>
+ *
+ * <p>When configured to use the data format of the cells, numbers are formatted as they are displayed in Excel using a
+ * {@link DataFormatter}. Whether a format index is the 'General' format is determined once per index, numbers with
+ * the 'General' format still take the fast path.</p>
+ */
+public class NumericCellFormatter {
+
+    private static final int CACHE_SIZE = 1024;
+
+    private static final String[] SMALL_VALUES = new String[CACHE_SIZE];
+
+    /** Integral doubles below this value are exact as a long. */
+    private static final double MAX_LONG_VALUE = 1e15;
+
+    private static final String GENERAL = "General";
+
+    static {
+        for (int i = 0; i < CACHE_SIZE; i++) {
+            SMALL_VALUES[i] = String.valueOf(i);
+        }
+    }
+
+    private final DataFormatter dataFormatter;
+
+    private final ConcurrentMap<Integer, Boolean> generalFormats = new ConcurrentHashMap<Integer, Boolean>();
+
+    /**
+     * Constructor for a formatter which formats all numbers with the 'General' format.
+     */
+    public NumericCellFormatter() {
+        this(false);
+    }
+
+    /**
+     * Constructor which takes whether the data format of the cells should be used.
+     *
+     * @param useDataFormat <code>true</code> to format numbers as they are displayed in Excel
+     */
+    public NumericCellFormatter(final boolean useDataFormat) {
+        super();
+        this.dataFormatter = useDataFormat ? new DataFormatter() : null;
+    }
+
+    /**
+     * Format the value of the given numeric cell.
+     *
+     * @param cell the cell
+     * @return the formatted value
+     */
+    public String format(final Cell cell) {
+        final double value = cell.getNumericCellValue();
+        if (this.dataFormatter == null) {
+            return format(value);
+        }
+        final CellStyle style = cell.getCellStyle();
+        if (style == null) {
+            return format(value);
+        }
+        return this.format(value, style.getDataFormat(), style.getDataFormatString());
+    }
+
+    /**
+     * Format the given value with the given data format, the format is ignored unless this formatter uses the data
+     * format.
+     *
+     * @param value the value
+     * @param formatIndex the index of the data format
+     * @param formatString the data format
+     * @return the formatted value
+     */
+    public String format(final double value, final int formatIndex, final String formatString) {
+        if (this.dataFormatter == null || this.isGeneral(formatIndex, formatString)) {
+            return format(value);
+        }
+        // DataFormatter caches the formats it creates and isn't thread-safe
+        synchronized (this.dataFormatter) {
+            return this.dataFormatter.formatRawCellContents(value, formatIndex, formatString);
+        }
+    }
+
+    private boolean isGeneral(final int formatIndex, final String formatString) {
+        Boolean general = this.generalFormats.get(formatIndex);
+        if (general == null) {
+            general = formatString == null || GENERAL.equalsIgnoreCase(formatString);
+            this.generalFormats.put(formatIndex, general);
+        }
+        return general;
+    }
+
+    /**
+     * Format the given value with the 'General' format.
+     *
+     * @param value the value
+     * @return the formatted value
+     */
+    public static String format(final double value) {
+        if (value == Math.rint(value)) {
+            if (value >= 0 && value < CACHE_SIZE) {
+                return SMALL_VALUES[(int) value];
+            }
+            if (Math.abs(value) < MAX_LONG_VALUE) {
+                return Long.toString((long) value);
+            }
+            if (!Double.isInfinite(value)) {
+                // the digits of the double instead of its exact binary value, 1e23 isn't 99999999999999991611392
+                return new BigDecimal(Double.toString(value)).toPlainString();
+            }
+        }
+        final String formatted = Double.toString(value);
+        if (formatted.indexOf('E') < 0) {
+            return formatted;
+        }
+        return new BigDecimal(formatted).stripTrailingZeros().toPlainString();
+    }
+}
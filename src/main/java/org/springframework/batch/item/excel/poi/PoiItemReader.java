@@ -1,12 +1,20 @@
 package org.springframework.batch.item.excel.poi;
 
-import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.poifs.filesystem.NPOIFSFileSystem;
+import org.apache.poi.poifs.filesystem.OfficeXmlFileException;
+import org.apache.poi.ss.usermodel.FormulaEvaluator;
 import org.apache.poi.ss.usermodel.Workbook;
 import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.springframework.batch.item.excel.AbstractExcelItemReader;
 import org.springframework.batch.item.excel.Sheet;
 import org.springframework.core.io.Resource;
 
+import java.io.File;
+
 /**
  * {@link org.springframework.batch.item.ItemReader} implementation which uses apache POI to read an Excel
  * file. It will read the file sheet for sheet and row for row. It is based on
@@ -20,9 +28,21 @@ public class PoiItemReader<T> extends AbstractExcelItemReader<T> {
 
     protected Workbook workbook;
 
+    private NPOIFSFileSystem fileSystem;
+    private OPCPackage pkg;
+    private PoiSheet[] sheets;
+    private NumericCellFormatter numericCellFormatter;
+    private boolean useDataFormat = false;
+    private FormulaEvaluator formulaEvaluator;
+    private boolean evaluateFormulas = false;
+
     @Override
     protected Sheet getSheet(final int sheet) {
-        return new PoiSheet(this.workbook.getSheetAt(sheet));
+        if (this.sheets[sheet] == null) {
+            this.sheets[sheet] = new PoiSheet(this.workbook.getSheetAt(sheet), this.numericCellFormatter,
+                    this.formulaEvaluator);
+        }
+        return this.sheets[sheet];
     }
 
     @Override
@@ -32,7 +52,64 @@ public class PoiItemReader<T> extends AbstractExcelItemReader<T> {
 
     @Override
     protected void openExcelFile(final Resource resource) throws Exception {
-        this.workbook = WorkbookFactory.create(resource.getInputStream());
+        this.workbook = this.createWorkbook(resource);
+        this.sheets = new PoiSheet[this.workbook.getNumberOfSheets()];
+        this.numericCellFormatter = new NumericCellFormatter(this.useDataFormat);
+        this.formulaEvaluator = this.evaluateFormulas
+                ? this.workbook.getCreationHelper().createFormulaEvaluator() : null;
+    }
+
+    private Workbook createWorkbook(final Resource resource) throws Exception {
+        final File file = getFile(resource);
+        if (file == null) {
+            return WorkbookFactory.create(resource.getInputStream());
+        }
+        try {
+            this.fileSystem = new NPOIFSFileSystem(file, true);
+            return new HSSFWorkbook(this.fileSystem.getRoot(), true);
+        } catch (OfficeXmlFileException e) {
+            this.pkg = OPCPackage.open(file, PackageAccess.READ);
+            return new XSSFWorkbook(this.pkg);
+        }
+    }
+
+    @Override
+    protected void doCloseWorkbook() throws Exception {
+        this.workbook = null;
+        this.sheets = null;
+        this.numericCellFormatter = null;
+        this.formulaEvaluator = null;
+        if (this.fileSystem != null) {
+            this.fileSystem.close();
+            this.fileSystem = null;
+        }
+        if (this.pkg != null) {
+            this.pkg.revert();
+            this.pkg = null;
+        }
+    }
+
+    /**
+     * Whether numeric cells should be formatted as they are displayed in Excel, using the data format of the cell.
+     * Defaults to <code>false</code>, which formats numbers with the 'General' format. Only supported by this reader,
+     * the streaming readers always use the 'General' format.
+     *
+     * @param useDataFormat <code>true</code> to use the data format of the cells
+     */
+    public void setUseDataFormat(final boolean useDataFormat) {
+        this.useDataFormat = useDataFormat;
+    }
+
+    /**
+     * Whether formulas should be evaluated instead of reading the result which is cached in the file. One evaluator
+     * is used for all the sheets of the workbook, so results are cached across rows and sheets and the dependencies
+     * of a formula are evaluated only once. Defaults to <code>false</code>, which is much cheaper and correct for
+     * files saved by Excel.
+     *
+     * @param evaluateFormulas <code>true</code> to evaluate the formulas
+     */
+    public void setEvaluateFormulas(final boolean evaluateFormulas) {
+        this.evaluateFormulas = evaluateFormulas;
     }
 
 }
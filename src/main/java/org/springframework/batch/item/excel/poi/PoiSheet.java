@@ -17,17 +17,21 @@
 package org.springframework.batch.item.excel.poi;
 
 import org.apache.poi.ss.usermodel.Cell;
-import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.usermodel.FormulaError;
+import org.apache.poi.ss.usermodel.FormulaEvaluator;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.util.CellReference;
+import org.springframework.batch.item.excel.CellType;
+import org.springframework.batch.item.excel.RowCursor;
 import org.springframework.batch.item.excel.Sheet;
 
-import java.math.BigDecimal;
-import java.util.LinkedList;
-import java.util.List;
+import java.util.Date;
 
 /**
- * Sheet implementation for Apache POI.
+ * Sheet implementation for Apache POI. Formula cells are read as the result which is cached in the file, unless a
+ * {@link FormulaEvaluator} is given which evaluates the formulas. Error cells are read as the error text
+ * (<code>#DIV/0!</code>).
  *
  * @author Marten Deinum
  */
@@ -35,14 +39,46 @@ public class PoiSheet implements Sheet {
 
     private final org.apache.poi.ss.usermodel.Sheet delegate;
 
+    private final NumericCellFormatter numericCellFormatter;
+
+    private final FormulaEvaluator formulaEvaluator;
+
+    private String[] header;
+
     /**
      * Constructor which takes the delegate sheet.
      *
      * @param delegate the apache POI sheet
      */
     public PoiSheet(final org.apache.poi.ss.usermodel.Sheet delegate) {
+        this(delegate, new NumericCellFormatter());
+    }
+
+    /**
+     * Constructor which takes the delegate sheet and the formatter for numeric cells.
+     *
+     * @param delegate the apache POI sheet
+     * @param numericCellFormatter the formatter for numeric cells
+     */
+    public PoiSheet(final org.apache.poi.ss.usermodel.Sheet delegate,
+                    final NumericCellFormatter numericCellFormatter) {
+        this(delegate, numericCellFormatter, null);
+    }
+
+    /**
+     * Constructor which takes the delegate sheet, the formatter for numeric cells and the evaluator for formula
+     * cells. The evaluator caches the results, share it between the sheets of a workbook.
+     *
+     * @param delegate the apache POI sheet
+     * @param numericCellFormatter the formatter for numeric cells
+     * @param formulaEvaluator the evaluator, <code>null</code> to use the cached results of the formulas
+     */
+    public PoiSheet(final org.apache.poi.ss.usermodel.Sheet delegate,
+                    final NumericCellFormatter numericCellFormatter, final FormulaEvaluator formulaEvaluator) {
         super();
         this.delegate = delegate;
+        this.numericCellFormatter = numericCellFormatter;
+        this.formulaEvaluator = formulaEvaluator;
     }
 
     /**
@@ -70,38 +106,74 @@ public class PoiSheet implements Sheet {
         if (row == null) {
             return null;
         }
-        final List<String> cells = new LinkedList<String>();
-        for (int cn = 0; cn < row.getLastCellNum(); cn++) {
-            Cell cell = row.getCell(cn, Row.RETURN_BLANK_AS_NULL);
+        return this.getCells(row, null);
+    }
 
-            if (cell == null) {
-                // The spreadsheet is empty in this cell
-                cells.add("");
-            } else {
-                switch (cell.getCellType()) {
-                    case Cell.CELL_TYPE_NUMERIC:
-                        cells.add(String.valueOf(new BigDecimal(cell.getNumericCellValue())));
-                        break;
-                    case Cell.CELL_TYPE_BOOLEAN:
-                        cells.add(String.valueOf(cell.getBooleanCellValue()));
-                        break;
-                    case Cell.CELL_TYPE_STRING:
-                    case Cell.CELL_TYPE_BLANK:
-                        cells.add(cell.getStringCellValue());
-                        break;
-                    default:
-                        throw new IllegalArgumentException("Cannot handle cells of type " + cell.getCellType());
-                }
-            }
+    /**
+     * {@inheritDoc}
+     */
+    public RowCursor createRowCursor() {
+        return new PoiRowCursor();
+    }
+
+    /**
+     * Get the content of the cells of the given row, reusing the buffer when it has the right length.
+     */
+    private String[] getCells(final Row row, final String[] buffer) {
+        final int numberOfCells = Math.max(row.getLastCellNum(), 0);
+        final String[] cells = (buffer != null && buffer.length == numberOfCells) ? buffer : new String[numberOfCells];
+        for (int cn = 0; cn < cells.length; cn++) {
+            cells[cn] = this.getCell(row, cn);
+        }
+        return cells;
+    }
+
+    private String getCell(final Row row, final int column) {
+        final Cell cell = row.getCell(column, Row.RETURN_BLANK_AS_NULL);
+        if (cell == null) {
+            // The spreadsheet is empty in this cell
+            return "";
+        }
+        switch (this.getValueType(cell)) {
+            case Cell.CELL_TYPE_NUMERIC:
+                return this.numericCellFormatter.format(cell);
+            case Cell.CELL_TYPE_BOOLEAN:
+                return String.valueOf(cell.getBooleanCellValue());
+            case Cell.CELL_TYPE_STRING:
+            case Cell.CELL_TYPE_BLANK:
+                return cell.getStringCellValue();
+            case Cell.CELL_TYPE_ERROR:
+                return FormulaError.forInt(cell.getErrorCellValue()).getString();
+            default:
+                throw new IllegalArgumentException("Cannot handle cells of type " + cell.getCellType());
         }
-        return cells.toArray(new String[cells.size()]);
     }
 
     /**
-     * {@inheritDoc}
+     * Get the type of the value of the cell, for formula cells this is the type of the result.
+     */
+    private int getValueType(final Cell cell) {
+        final int type = cell.getCellType();
+        if (type != Cell.CELL_TYPE_FORMULA) {
+            return type;
+        }
+        if (this.formulaEvaluator == null) {
+            return cell.getCachedFormulaResultType();
+        }
+        // the evaluator isn't thread-safe, evaluating stores the result as the cached result of the cell
+        synchronized (this.formulaEvaluator) {
+            return this.formulaEvaluator.evaluateFormulaCell(cell);
+        }
+    }
+
+    /**
+     * The header is read once and retained, the returned array shouldn't be modified.
      */
     public String[] getHeader() {
-        return this.getRow(0);
+        if (this.header == null) {
+            this.header = this.getRow(0);
+        }
+        return this.header;
     }
 
     /**
@@ -114,4 +186,116 @@ public class PoiSheet implements Sheet {
         }
         return 0;
     }
+
+    /**
+     * {@link RowCursor} which moves over the rows of the sheet, skipping the rows which don't exist. The array
+     * returned by {@link #getCells()} is reused for the following rows.
+     */
+    private final class PoiRowCursor implements RowCursor {
+
+        private int rowIndex = -1;
+        private Row row;
+        private String[] buffer;
+
+        public boolean next() {
+            final int lastRowNum = delegate.getLastRowNum();
+            while (this.rowIndex < lastRowNum) {
+                this.rowIndex++;
+                this.row = delegate.getRow(this.rowIndex);
+                if (this.row != null) {
+                    return true;
+                }
+            }
+            this.row = null;
+            return false;
+        }
+
+        public int getRowIndex() {
+            return this.rowIndex;
+        }
+
+        public int getNumberOfCells() {
+            return Math.max(this.row.getLastCellNum(), 0);
+        }
+
+        public String getCell(final int column) {
+            return PoiSheet.this.getCell(this.row, column);
+        }
+
+        public String[] getCells() {
+            this.buffer = PoiSheet.this.getCells(this.row, this.buffer);
+            return this.buffer;
+        }
+
+        public CellType getCellType(final int column) {
+            final Cell cell = this.row.getCell(column, Row.RETURN_BLANK_AS_NULL);
+            if (cell == null) {
+                return CellType.BLANK;
+            }
+            switch (PoiSheet.this.getValueType(cell)) {
+                case Cell.CELL_TYPE_NUMERIC:
+                    return DateUtil.isCellDateFormatted(cell) ? CellType.DATE : CellType.NUMERIC;
+                case Cell.CELL_TYPE_BOOLEAN:
+                    return CellType.BOOLEAN;
+                case Cell.CELL_TYPE_STRING:
+                    return cell.getStringCellValue().length() == 0 ? CellType.BLANK : CellType.STRING;
+                case Cell.CELL_TYPE_ERROR:
+                    return CellType.ERROR;
+                default:
+                    throw new IllegalArgumentException("Cannot handle cells of type " + cell.getCellType());
+            }
+        }
+
+        public double getDouble(final int column) {
+            final Cell cell = this.row.getCell(column, Row.RETURN_BLANK_AS_NULL);
+            if (cell == null) {
+                return 0;
+            }
+            switch (PoiSheet.this.getValueType(cell)) {
+                case Cell.CELL_TYPE_NUMERIC:
+                    return cell.getNumericCellValue();
+                case Cell.CELL_TYPE_STRING:
+                    final String value = cell.getStringCellValue().trim();
+                    return value.length() == 0 ? 0 : Double.parseDouble(value);
+                default:
+                    throw new IllegalArgumentException("Cannot read cells of type " + cell.getCellType()
+                            + " as a number");
+            }
+        }
+
+        public boolean getBoolean(final int column) {
+            final Cell cell = this.row.getCell(column, Row.RETURN_BLANK_AS_NULL);
+            if (cell == null) {
+                return false;
+            }
+            switch (PoiSheet.this.getValueType(cell)) {
+                case Cell.CELL_TYPE_BOOLEAN:
+                    return cell.getBooleanCellValue();
+                case Cell.CELL_TYPE_NUMERIC:
+                    return cell.getNumericCellValue() != 0;
+                case Cell.CELL_TYPE_STRING:
+                    return Boolean.parseBoolean(cell.getStringCellValue().trim());
+                default:
+                    throw new IllegalArgumentException("Cannot read cells of type " + cell.getCellType()
+                            + " as a boolean");
+            }
+        }
+
+        public Date getDate(final int column) {
+            final Cell cell = this.row.getCell(column, Row.RETURN_BLANK_AS_NULL);
+            if (cell == null) {
+                return null;
+            }
+            switch (PoiSheet.this.getValueType(cell)) {
+                case Cell.CELL_TYPE_NUMERIC:
+                    return cell.getDateCellValue();
+                case Cell.CELL_TYPE_STRING:
+                    final String value = cell.getStringCellValue().trim();
+                    return value.length() == 0 ? null : DateUtil.getJavaDate(Double.parseDouble(value));
+                default:
+                    throw new IllegalArgumentException("Cannot read cells of type " + cell.getCellType()
+                            + " as a date");
+            }
+        }
+    }
 }
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.batch.item.excel.poi;
+
+/**
+ * Store for the shared strings table of an xlsx file. Strings are added in the order in which they appear in the
+ * file, after which they are looked up by their index. Implementations decide how much of the table is kept on the
+ * heap.
+ */
+public interface SharedStringsStore {
+
+    /**
+     * Add a string to the store, it gets the next index.
+     *
+     * @param value the string to add
+     */
+    void add(String value);
+
+    /**
+     * Get the string at the given index.
+     *
+     * @param index the index in the shared strings table
+     * @return the string
+     */
+    String get(int index);
+
+    /**
+     * The number of strings in the store.
+     *
+     * @return the number of strings
+     */
+    int size();
+
+    /**
+     * Release all the strings and resources held by this store, after which it can be filled again.
+     */
+    void close();
+}
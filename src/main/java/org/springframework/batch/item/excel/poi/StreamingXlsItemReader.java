@@ -0,0 +1,127 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.batch.item.excel.poi;
+
+import org.apache.poi.poifs.filesystem.DirectoryNode;
+import org.apache.poi.poifs.filesystem.NPOIFSFileSystem;
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
+import org.springframework.batch.item.excel.AbstractExcelItemReader;
+import org.springframework.batch.item.excel.Sheet;
+import org.springframework.core.io.Resource;
+
+import java.io.File;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link org.springframework.batch.item.ItemReader} implementation which uses the apache POI HSSF event API to read
+ * an xls file. The BIFF records are turned into rows in a single pass over the workbook stream, without building
+ * the workbook in memory. As a consequence sheets and rows can only be read in order. Only the xls (BIFF8) format is
+ * supported.
+ *
+ * @param <T> the type
+ */
+public class StreamingXlsItemReader<T> extends AbstractExcelItemReader<T> {
+
+    private static final String[] WORKBOOK_DIR_ENTRY_NAMES = {"Workbook", "WORKBOOK", "BOOK"};
+
+    private NPOIFSFileSystem fileSystem;
+    private InputStream workbookStream;
+    private XlsRecordReader records;
+    private final List<String> sheetNames = new ArrayList<String>();
+
+    private int openedSheetIndex = -1;
+    private StreamingXlsSheet openedSheet;
+
+    @Override
+    protected Sheet getSheet(final int sheet) {
+        if (sheet < this.openedSheetIndex) {
+            throw new IllegalStateException("Sheet [" + sheet + "] has already been read, sheets can only be read in order.");
+        }
+        while (this.openedSheetIndex < sheet) {
+            if (!this.records.nextSheet()) {
+                throw new IllegalStateException("Sheet [" + sheet + "] not found in workbook.");
+            }
+            this.openedSheetIndex++;
+            this.openedSheet = new StreamingXlsSheet(this.sheetNames.get(this.openedSheetIndex), this.records);
+        }
+        return this.openedSheet;
+    }
+
+    /**
+     * The number of rows is taken from the dimensions record of the sheet, as counting the rows would require reading
+     * the sheet.
+     */
+    @Override
+    protected int getNumberOfRows(final int sheet) {
+        return ((StreamingXlsSheet) this.getSheet(sheet)).getDimensionRows();
+    }
+
+    /**
+     * Sheets are parsed as a stream, so rows can only be read in order.
+     */
+    @Override
+    protected boolean isRandomAccess() {
+        return false;
+    }
+
+    @Override
+    protected int getNumberOfSheets() {
+        return this.sheetNames.size();
+    }
+
+    @Override
+    protected void openExcelFile(final Resource resource) throws Exception {
+        final File file = getFile(resource);
+        if (file != null) {
+            this.fileSystem = new NPOIFSFileSystem(file, true);
+            this.workbookStream = this.fileSystem.createDocumentInputStream(
+                    getWorkbookDirEntryName(this.fileSystem.getRoot()));
+        } else {
+            final POIFSFileSystem fs = new POIFSFileSystem(resource.getInputStream());
+            this.workbookStream = fs.createDocumentInputStream(getWorkbookDirEntryName(fs.getRoot()));
+        }
+        this.records = new XlsRecordReader(this.workbookStream);
+        this.sheetNames.addAll(this.records.readWorkbookGlobals());
+    }
+
+    @Override
+    protected void doCloseWorkbook() throws Exception {
+        this.openedSheet = null;
+        this.openedSheetIndex = -1;
+        this.records = null;
+        this.sheetNames.clear();
+        if (this.workbookStream != null) {
+            this.workbookStream.close();
+            this.workbookStream = null;
+        }
+        if (this.fileSystem != null) {
+            this.fileSystem.close();
+            this.fileSystem = null;
+        }
+    }
+
+    private static String getWorkbookDirEntryName(final DirectoryNode directory) {
+        for (final String name : WORKBOOK_DIR_ENTRY_NAMES) {
+            if (directory.hasEntry(name)) {
+                return name;
+            }
+        }
+        throw new IllegalArgumentException("The supplied file doesn't contain a Workbook stream, is it an xls file?");
+    }
+}
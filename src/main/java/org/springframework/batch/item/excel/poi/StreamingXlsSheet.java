@@ -0,0 +1,54 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.batch.item.excel.poi;
+
+/**
+ * Forward-only {@link org.springframework.batch.item.excel.Sheet} implementation which turns the BIFF records of a
+ * sheet in an xls file into rows as they are read from the workbook stream.
+ */
+public class StreamingXlsSheet extends AbstractStreamingSheet {
+
+    private final XlsRecordReader records;
+
+    /**
+     * Constructor which takes the record reader positioned at the start of the sheet.
+     *
+     * @param name the name of the sheet
+     * @param records the record reader
+     */
+    StreamingXlsSheet(final String name, final XlsRecordReader records) {
+        super(name, records.isDate1904());
+        this.records = records;
+        records.setSheet(this);
+    }
+
+    /**
+     * The number of rows according to the dimensions record of the sheet, only available before the rows are read.
+     */
+    int getDimensionRows() {
+        return this.records.readDimensions();
+    }
+
+    @Override
+    protected boolean parseNextRow(final int previousRowIndex) {
+        if (this.records.nextRow()) {
+            this.rowParsed(this.records.getRowIndex(), this.records.getRow());
+            return true;
+        }
+        return false;
+    }
+}
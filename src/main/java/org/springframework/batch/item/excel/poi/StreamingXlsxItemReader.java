@@ -0,0 +1,229 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.batch.item.excel.poi;
+
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.springframework.batch.item.excel.AbstractExcelItemReader;
+import org.springframework.batch.item.excel.Sheet;
+import org.springframework.core.io.Resource;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link org.springframework.batch.item.ItemReader} implementation which uses the apache POI event API to read an
+ * xlsx file. Instead of building the whole workbook in memory, each sheet is parsed as a stream of rows and only the
+ * row currently being read is kept in memory. This keeps the heap usage flat regardless of the number of rows in the
+ * file. Only the xlsx (Office Open XML) format is supported.
+ *
+ * @param <T> the type
+ */
+public class StreamingXlsxItemReader<T> extends AbstractExcelItemReader<T> {
+
+    private final XMLInputFactory xmlInputFactory;
+
+    private OPCPackage pkg;
+    private SharedStringsStore sharedStrings = new InMemorySharedStringsStore();
+    private final List<String> sheetNames = new ArrayList<String>();
+    private final List<PackagePart> sheetParts = new ArrayList<PackagePart>();
+    private boolean date1904 = false;
+
+    private int openedSheetIndex = -1;
+    private StreamingXlsxSheet openedSheet;
+
+    public StreamingXlsxItemReader() {
+        super();
+        this.xmlInputFactory = XMLInputFactory.newInstance();
+        this.xmlInputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        this.xmlInputFactory.setProperty(XMLInputFactory.IS_COALESCING, true);
+    }
+
+    @Override
+    protected Sheet getSheet(final int sheet) {
+        if (sheet != this.openedSheetIndex) {
+            this.closeOpenedSheet();
+            try {
+                this.openedSheet = new StreamingXlsxSheet(this.sheetNames.get(sheet),
+                        this.sheetParts.get(sheet).getInputStream(), this.sharedStrings, this.xmlInputFactory,
+                        this.date1904);
+            } catch (IOException e) {
+                throw new IllegalStateException("Unable to open sheet [" + this.sheetNames.get(sheet) + "]", e);
+            }
+            this.openedSheetIndex = sheet;
+        }
+        return this.openedSheet;
+    }
+
+    /**
+     * The number of rows is taken from the dimension element of the sheet, as counting the rows would require
+     * parsing the sheet.
+     */
+    @Override
+    protected int getNumberOfRows(final int sheet) {
+        try {
+            final InputStream is = this.sheetParts.get(sheet).getInputStream();
+            try {
+                final XMLStreamReader parser = this.xmlInputFactory.createXMLStreamReader(is);
+                try {
+                    while (parser.hasNext()) {
+                        if (parser.next() == XMLStreamConstants.START_ELEMENT) {
+                            if ("dimension".equals(parser.getLocalName())) {
+                                final String reference = parser.getAttributeValue(null, "ref");
+                                return StreamingXlsxSheet.rowIndex(reference.substring(reference.indexOf(':') + 1)) + 1;
+                            }
+                            if ("sheetData".equals(parser.getLocalName())) {
+                                break;
+                            }
+                        }
+                    }
+                    return -1;
+                } finally {
+                    parser.close();
+                }
+            } finally {
+                is.close();
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException("Unable to read the dimension of sheet [" + this.sheetNames.get(sheet)
+                    + "]", e);
+        }
+    }
+
+    /**
+     * Sheets are parsed as a stream, so rows can only be read in order.
+     */
+    @Override
+    protected boolean isRandomAccess() {
+        return false;
+    }
+
+    @Override
+    protected int getNumberOfSheets() {
+        return this.sheetParts.size();
+    }
+
+    @Override
+    protected void openExcelFile(final Resource resource) throws Exception {
+        final File file = getFile(resource);
+        if (file != null) {
+            this.pkg = OPCPackage.open(file, PackageAccess.READ);
+        } else {
+            this.pkg = OPCPackage.open(resource.getInputStream());
+        }
+        final XSSFReader reader = new XSSFReader(this.pkg);
+        this.date1904 = this.readDate1904(reader);
+        this.readSharedStrings(reader);
+        final XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+        while (sheets.hasNext()) {
+            final InputStream is = sheets.next();
+            is.close();
+            this.sheetNames.add(sheets.getSheetName());
+            this.sheetParts.add(sheets.getSheetPart());
+        }
+    }
+
+    @Override
+    protected void doCloseWorkbook() throws Exception {
+        this.closeOpenedSheet();
+        this.sheetNames.clear();
+        this.sheetParts.clear();
+        this.date1904 = false;
+        this.sharedStrings.close();
+        if (this.pkg != null) {
+            this.pkg.revert();
+            this.pkg = null;
+        }
+    }
+
+    /**
+     * Set the {@link SharedStringsStore} used to hold the shared strings table of the file. Defaults to an
+     * {@link InMemorySharedStringsStore}, for files with a very large number of unique strings one of the file based
+     * stores can be used to keep them off the heap.
+     *
+     * @param sharedStrings the store to use
+     */
+    public void setSharedStringsStore(final SharedStringsStore sharedStrings) {
+        this.sharedStrings = sharedStrings;
+    }
+
+    /**
+     * Read the date system of the workbook from the workbookPr element of the workbook part.
+     */
+    private boolean readDate1904(final XSSFReader reader) throws Exception {
+        final InputStream is = reader.getWorkbookData();
+        try {
+            final XMLStreamReader parser = this.xmlInputFactory.createXMLStreamReader(is);
+            try {
+                while (parser.hasNext()) {
+                    if (parser.next() == XMLStreamConstants.START_ELEMENT) {
+                        if ("workbookPr".equals(parser.getLocalName())) {
+                            final String date1904 = parser.getAttributeValue(null, "date1904");
+                            return "1".equals(date1904) || "true".equals(date1904);
+                        }
+                        if ("sheets".equals(parser.getLocalName())) {
+                            break;
+                        }
+                    }
+                }
+                return false;
+            } finally {
+                parser.close();
+            }
+        } finally {
+            is.close();
+        }
+    }
+
+    private void readSharedStrings(final XSSFReader reader) throws Exception {
+        final InputStream is = reader.getSharedStringsData();
+        if (is == null) {
+            return;
+        }
+        try {
+            final XMLStreamReader parser = this.xmlInputFactory.createXMLStreamReader(is);
+            try {
+                while (parser.hasNext()) {
+                    if (parser.next() == XMLStreamConstants.START_ELEMENT && "si".equals(parser.getLocalName())) {
+                        this.sharedStrings.add(StreamingXlsxSheet.readText(parser, "si"));
+                    }
+                }
+            } finally {
+                parser.close();
+            }
+        } finally {
+            is.close();
+        }
+    }
+
+    private void closeOpenedSheet() {
+        if (this.openedSheet != null) {
+            this.openedSheet.close();
+            this.openedSheet = null;
+        }
+        this.openedSheetIndex = -1;
+    }
+
+}
@@ -0,0 +1,232 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.batch.item.excel.poi;
+
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Forward-only {@link org.springframework.batch.item.excel.Sheet} implementation which pulls rows from the sheet part
+ * of an xlsx file with StAX.
+ */
+public class StreamingXlsxSheet extends AbstractStreamingSheet {
+
+    private final InputStream inputStream;
+    private final XMLStreamReader parser;
+    private final SharedStringsStore sharedStrings;
+
+    private String[] cells = new String[16];
+
+    /**
+     * Constructor which takes the xml content of the sheet part.
+     *
+     * @param name the name of the sheet
+     * @param inputStream the content of the sheet part (sheetN.xml)
+     * @param sharedStrings the shared strings of the workbook
+     * @param xmlInputFactory the factory used to create the StAX parser
+     * @param date1904 whether the workbook uses the 1904 date system
+     */
+    StreamingXlsxSheet(final String name, final InputStream inputStream, final SharedStringsStore sharedStrings,
+                       final XMLInputFactory xmlInputFactory, final boolean date1904) {
+        super(name, date1904);
+        this.inputStream = inputStream;
+        this.sharedStrings = sharedStrings;
+        try {
+            this.parser = xmlInputFactory.createXMLStreamReader(inputStream);
+        } catch (XMLStreamException e) {
+            throw new IllegalStateException("Unable to parse sheet [" + name + "]", e);
+        }
+    }
+
+    /**
+     * Release the underlying parser and stream.
+     */
+    @Override
+    void close() {
+        try {
+            this.parser.close();
+        } catch (XMLStreamException e) {
+            // ignore, we are closing anyway
+        }
+        try {
+            this.inputStream.close();
+        } catch (IOException e) {
+            // ignore, we are closing anyway
+        }
+    }
+
+    @Override
+    protected boolean parseNextRow(final int previousRowIndex) {
+        try {
+            while (this.parser.hasNext()) {
+                final int event = this.parser.next();
+                if (event == XMLStreamConstants.START_ELEMENT && "row".equals(this.parser.getLocalName())) {
+                    final String r = this.parser.getAttributeValue(null, "r");
+                    final int index = (r != null) ? Integer.parseInt(r) - 1 : previousRowIndex + 1;
+                    this.rowParsed(index, this.readCells());
+                    return true;
+                }
+                if (event == XMLStreamConstants.END_ELEMENT && "sheetData".equals(this.parser.getLocalName())) {
+                    break;
+                }
+            }
+            return false;
+        } catch (XMLStreamException e) {
+            throw new IllegalStateException("Unable to parse sheet [" + this.getName() + "]", e);
+        }
+    }
+
+    private String[] readCells() throws XMLStreamException {
+        int length = 0;
+        int column = -1;
+        while (this.parser.hasNext()) {
+            final int event = this.parser.next();
+            if (event == XMLStreamConstants.START_ELEMENT && "c".equals(this.parser.getLocalName())) {
+                final String reference = this.parser.getAttributeValue(null, "r");
+                column = (reference != null) ? columnIndex(reference) : column + 1;
+                this.ensureCapacity(column + 1);
+                for (int i = length; i < column; i++) {
+                    this.cells[i] = "";
+                }
+                this.cells[column] = this.isIncluded(column) ? this.readCell(this.parser.getAttributeValue(null, "t"))
+                        : this.skipCell();
+                length = column + 1;
+            } else if (event == XMLStreamConstants.END_ELEMENT && "row".equals(this.parser.getLocalName())) {
+                break;
+            }
+        }
+        return Arrays.copyOf(this.cells, length);
+    }
+
+    /**
+     * Read the value of a cell, for formula cells the result cached in the file. Error cells are read as the error
+     * text.
+     */
+    private String readCell(final String type) throws XMLStreamException {
+        String value = null;
+        while (this.parser.hasNext()) {
+            final int event = this.parser.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                final String element = this.parser.getLocalName();
+                if ("v".equals(element)) {
+                    value = this.parser.getElementText();
+                } else if ("is".equals(element)) {
+                    value = readText(this.parser, "is");
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT && "c".equals(this.parser.getLocalName())) {
+                break;
+            }
+        }
+        if (value == null) {
+            return "";
+        }
+        if (type == null || "n".equals(type)) {
+            return NumericCellFormatter.format(Double.parseDouble(value));
+        }
+        if ("s".equals(type)) {
+            return this.sharedStrings.get(Integer.parseInt(value));
+        }
+        if ("b".equals(type)) {
+            return String.valueOf("1".equals(value));
+        }
+        if ("inlineStr".equals(type) || "str".equals(type) || "e".equals(type)) {
+            return value;
+        }
+        throw new IllegalArgumentException("Cannot handle cells of type " + type);
+    }
+
+    /**
+     * Skip the content of a cell which isn't included, without converting its value or looking up its shared string.
+     */
+    private String skipCell() throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0 && this.parser.hasNext()) {
+            final int event = this.parser.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+        return "";
+    }
+
+    private void ensureCapacity(final int capacity) {
+        if (capacity > this.cells.length) {
+            this.cells = Arrays.copyOf(this.cells, Math.max(capacity, this.cells.length * 2));
+        }
+    }
+
+    /**
+     * Collect the text of all the <code>t</code> elements within the current element, skipping phonetic runs.
+     */
+    static String readText(final XMLStreamReader parser, final String element) throws XMLStreamException {
+        final StringBuilder text = new StringBuilder();
+        int phonetic = 0;
+        while (parser.hasNext()) {
+            final int event = parser.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                final String name = parser.getLocalName();
+                if ("rPh".equals(name)) {
+                    phonetic++;
+                } else if ("t".equals(name) && phonetic == 0) {
+                    text.append(parser.getElementText());
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                final String name = parser.getLocalName();
+                if ("rPh".equals(name)) {
+                    phonetic--;
+                } else if (element.equals(name)) {
+                    break;
+                }
+            }
+        }
+        return text.toString();
+    }
+
+    /**
+     * Convert the row part of a cell reference (i.e. the 12 in AB12) to a 0-based row index.
+     */
+    static int rowIndex(final String reference) {
+        int i = 0;
+        while (i < reference.length() && !Character.isDigit(reference.charAt(i))) {
+            i++;
+        }
+        return Integer.parseInt(reference.substring(i)) - 1;
+    }
+
+    /**
+     * Convert the column part of a cell reference (i.e. the AB in AB12) to a 0-based column index.
+     */
+    static int columnIndex(final String reference) {
+        int column = 0;
+        for (int i = 0; i < reference.length(); i++) {
+            final char c = reference.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                break;
+            }
+            column = column * 26 + (c - 'A' + 1);
+        }
+        return column - 1;
+    }
+}
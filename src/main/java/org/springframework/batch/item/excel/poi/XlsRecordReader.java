@@ -0,0 +1,315 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.batch.item.excel.poi;
+
+import org.apache.poi.hssf.eventusermodel.HSSFListener;
+import org.apache.poi.hssf.eventusermodel.MissingRecordAwareHSSFListener;
+import org.apache.poi.hssf.eventusermodel.dummyrecord.LastCellOfRowDummyRecord;
+import org.apache.poi.hssf.record.BOFRecord;
+import org.apache.poi.hssf.record.BlankRecord;
+import org.apache.poi.hssf.record.BoolErrRecord;
+import org.apache.poi.hssf.record.BoundSheetRecord;
+import org.apache.poi.hssf.record.CellValueRecordInterface;
+import org.apache.poi.hssf.record.DateWindow1904Record;
+import org.apache.poi.hssf.record.DimensionsRecord;
+import org.apache.poi.hssf.record.EOFRecord;
+import org.apache.poi.hssf.record.FormulaRecord;
+import org.apache.poi.hssf.record.LabelRecord;
+import org.apache.poi.hssf.record.LabelSSTRecord;
+import org.apache.poi.hssf.record.NumberRecord;
+import org.apache.poi.hssf.record.Record;
+import org.apache.poi.hssf.record.RecordFactoryInputStream;
+import org.apache.poi.hssf.record.SSTRecord;
+import org.apache.poi.hssf.record.StringRecord;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.FormulaError;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Pulls the BIFF records of a workbook stream one at a time and turns the cell records into rows. The records are
+ * passed through a {@link MissingRecordAwareHSSFListener} so that the end of each row is signalled explicitly. The
+ * whole stream is processed in a single pass, sheet for sheet.
+ */
+final class XlsRecordReader implements HSSFListener {
+
+    private final RecordFactoryInputStream records;
+    private final HSSFListener listener;
+
+    private final List<BoundSheetRecord> boundSheets = new ArrayList<BoundSheetRecord>();
+    private SSTRecord sst;
+    private boolean date1904 = false;
+
+    private int depth = 0;
+    private boolean inSheet = false;
+    private boolean collecting = false;
+    private boolean endOfStream = false;
+
+    private String[] cells = new String[16];
+    private int length = 0;
+    private int stringFormulaColumn = -1;
+
+    private AbstractStreamingSheet sheet;
+    private int rowIndex = -1;
+    private String[] row;
+    private int dimensionRows = -1;
+
+    XlsRecordReader(final InputStream workbookStream) {
+        super();
+        this.records = new RecordFactoryInputStream(workbookStream, false);
+        this.listener = new MissingRecordAwareHSSFListener(this);
+    }
+
+    /**
+     * Process the workbook globals, up to the start of the first sheet.
+     *
+     * @return the names of the sheets in the order in which they appear in the stream.
+     */
+    List<String> readWorkbookGlobals() {
+        while (this.processNextRecord() && this.depth > 0) {
+            // the globals end with the EOF record matching the workbook BOF
+        }
+        final List<String> names = new ArrayList<String>();
+        for (final BoundSheetRecord boundSheet : BoundSheetRecord.orderByBofPosition(this.boundSheets)) {
+            names.add(boundSheet.getSheetname());
+        }
+        return names;
+    }
+
+    /**
+     * Skip the remainder of the current sheet (if any) and position the stream at the start of the next sheet.
+     *
+     * @return <code>true</code> if there is a next sheet
+     */
+    boolean nextSheet() {
+        this.collecting = false;
+        this.sheet = null;
+        while (this.inSheet) {
+            if (!this.processNextRecord()) {
+                return false;
+            }
+        }
+        this.row = null;
+        while (!this.inSheet) {
+            if (!this.processNextRecord()) {
+                return false;
+            }
+        }
+        this.collecting = true;
+        return true;
+    }
+
+    /**
+     * Read the next row of the current sheet, which is available through {@link #getRowIndex()} and
+     * {@link #getRow()} afterwards.
+     *
+     * @return <code>true</code> if a row was read, <code>false</code> at the end of the sheet
+     */
+    boolean nextRow() {
+        this.row = null;
+        while (this.row == null && this.inSheet) {
+            if (!this.processNextRecord()) {
+                break;
+            }
+        }
+        return this.row != null;
+    }
+
+    /**
+     * Set the sheet the rows are read for, which decides which columns are converted.
+     */
+    void setSheet(final AbstractStreamingSheet sheet) {
+        this.sheet = sheet;
+    }
+
+    /**
+     * Whether the workbook uses the 1904 date system, known once the workbook globals have been read.
+     */
+    boolean isDate1904() {
+        return this.date1904;
+    }
+
+    int getRowIndex() {
+        return this.rowIndex;
+    }
+
+    String[] getRow() {
+        return this.row;
+    }
+
+    /**
+     * Read ahead to the dimensions record of the current sheet, which precedes the cell records.
+     *
+     * @return the number of rows according to the dimensions record, -1 if the sheet doesn't have one
+     */
+    int readDimensions() {
+        while (this.dimensionRows < 0 && this.inSheet && this.length == 0 && this.row == null) {
+            if (!this.processNextRecord()) {
+                break;
+            }
+        }
+        return this.dimensionRows;
+    }
+
+    private boolean processNextRecord() {
+        if (this.endOfStream) {
+            return false;
+        }
+        final Record record = this.records.nextRecord();
+        if (record == null) {
+            this.endOfStream = true;
+            this.inSheet = false;
+            return false;
+        }
+        this.listener.processRecord(record);
+        return true;
+    }
+
+    public void processRecord(final Record record) {
+        switch (record.getSid()) {
+            case BOFRecord.sid:
+                this.depth++;
+                if (this.depth == 1 && ((BOFRecord) record).getType() != BOFRecord.TYPE_WORKBOOK) {
+                    this.inSheet = true;
+                    this.length = 0;
+                    this.dimensionRows = -1;
+                }
+                break;
+            case EOFRecord.sid:
+                this.depth--;
+                if (this.depth == 0) {
+                    this.inSheet = false;
+                }
+                break;
+            case BoundSheetRecord.sid:
+                this.boundSheets.add((BoundSheetRecord) record);
+                break;
+            case SSTRecord.sid:
+                this.sst = (SSTRecord) record;
+                break;
+            case DateWindow1904Record.sid:
+                this.date1904 = ((DateWindow1904Record) record).getWindowing() == 1;
+                break;
+            case DimensionsRecord.sid:
+                if (this.inSheet && this.depth == 1) {
+                    this.dimensionRows = ((DimensionsRecord) record).getLastRow();
+                }
+                break;
+            default:
+                if (this.collecting && this.depth == 1) {
+                    this.processCell(record);
+                }
+        }
+    }
+
+    private void processCell(final Record record) {
+        if (record instanceof LastCellOfRowDummyRecord) {
+            if (this.length > 0) {
+                this.rowIndex = ((LastCellOfRowDummyRecord) record).getRow();
+                this.row = Arrays.copyOf(this.cells, this.length);
+                this.length = 0;
+            }
+            return;
+        }
+        if (record instanceof CellValueRecordInterface) {
+            final int column = ((CellValueRecordInterface) record).getColumn();
+            if (!this.isIncluded(column)) {
+                // keep the row, but don't convert the value or look up the shared string
+                this.setCell(column, "");
+                return;
+            }
+        }
+        switch (record.getSid()) {
+            case LabelSSTRecord.sid:
+                final LabelSSTRecord labelSST = (LabelSSTRecord) record;
+                this.setCell(labelSST.getColumn(), this.sst.getString(labelSST.getSSTIndex()).getString());
+                break;
+            case LabelRecord.sid:
+                final LabelRecord label = (LabelRecord) record;
+                this.setCell(label.getColumn(), label.getValue());
+                break;
+            case NumberRecord.sid:
+                final NumberRecord number = (NumberRecord) record;
+                this.setCell(number.getColumn(), NumericCellFormatter.format(number.getValue()));
+                break;
+            case BoolErrRecord.sid:
+                final BoolErrRecord boolErr = (BoolErrRecord) record;
+                if (boolErr.isError()) {
+                    this.setCell(boolErr.getColumn(), FormulaError.forInt(boolErr.getErrorValue()).getString());
+                } else {
+                    this.setCell(boolErr.getColumn(), String.valueOf(boolErr.getBooleanValue()));
+                }
+                break;
+            case BlankRecord.sid:
+                this.setCell(((BlankRecord) record).getColumn(), "");
+                break;
+            case FormulaRecord.sid:
+                this.processFormula((FormulaRecord) record);
+                break;
+            case StringRecord.sid:
+                if (this.stringFormulaColumn >= 0) {
+                    this.setCell(this.stringFormulaColumn, ((StringRecord) record).getString());
+                    this.stringFormulaColumn = -1;
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Set the result of the formula cached in the file, a string result is stored in the {@link StringRecord}
+     * following the formula.
+     */
+    private void processFormula(final FormulaRecord formula) {
+        switch (formula.getCachedResultType()) {
+            case Cell.CELL_TYPE_NUMERIC:
+                this.setCell(formula.getColumn(), NumericCellFormatter.format(formula.getValue()));
+                break;
+            case Cell.CELL_TYPE_BOOLEAN:
+                this.setCell(formula.getColumn(), String.valueOf(formula.getCachedBooleanValue()));
+                break;
+            case Cell.CELL_TYPE_ERROR:
+                this.setCell(formula.getColumn(),
+                        FormulaError.forInt((byte) formula.getCachedErrorValue()).getString());
+                break;
+            default:
+                this.setCell(formula.getColumn(), "");
+                if (formula.hasCachedResultString()) {
+                    this.stringFormulaColumn = formula.getColumn();
+                }
+        }
+    }
+
+    private boolean isIncluded(final int column) {
+        return this.sheet == null || this.sheet.isIncluded(column);
+    }
+
+    private void setCell(final int column, final String value) {
+        if (column >= this.cells.length) {
+            this.cells = Arrays.copyOf(this.cells, Math.max(column + 1, this.cells.length * 2));
+        }
+        for (int i = this.length; i < column; i++) {
+            this.cells[i] = "";
+        }
+        this.cells[column] = value;
+        this.length = Math.max(this.length, column + 1);
+    }
+}
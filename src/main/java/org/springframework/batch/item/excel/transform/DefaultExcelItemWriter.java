@@ -5,27 +5,26 @@ import lombok.Setter;
 import org.apache.poi.hssf.usermodel.HSSFWorkbook;
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.springframework.batch.item.ExecutionContext;
 import org.springframework.batch.item.ItemStreamException;
 import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.item.excel.ExcelMetricsListener;
 import org.springframework.batch.item.file.FlatFileItemWriter;
 import org.springframework.batch.item.file.ResourceAwareItemWriterItemStream;
+import org.springframework.batch.item.util.ExecutionContextUserSupport;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.WritableResource;
-import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
 import org.springframework.util.CollectionUtils;
-import org.springframework.util.ReflectionUtils;
-import org.springframework.util.StringUtils;
-import sun.net.www.protocol.file.FileURLConnection;
 
 import java.io.*;
 import java.lang.reflect.Field;
-import java.math.BigDecimal;
-import java.text.DateFormat;
-import java.text.SimpleDateFormat;
-import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -37,7 +36,8 @@ import java.util.Map;
  * Time: 16:50
  */
 
-public class DefaultExcelItemWriter<T> implements ResourceAwareItemWriterItemStream<T> {
+public class DefaultExcelItemWriter<T> extends ExecutionContextUserSupport implements
+        ResourceAwareItemWriterItemStream<T> {
 
     public static final short BORDER_THICK = 1;
     public static final short FONT_SIZE = 12;
@@ -46,50 +46,234 @@ public class DefaultExcelItemWriter<T> implements ResourceAwareItemWriterItemStr
     public static final String OUTPUT_EXTENSION_XLSX = "xlsx";
 
 
+    private static final String ROWS_WRITTEN = "rows.written";
+
     private WritableResource resource;
-    private OutputStream outputStream;
 
     @Getter
     @Setter
     private String outputExtension = OUTPUT_EXTENSION_XLSX;
 
+    /**
+     * Whether the columns are sized to fit their content when the workbook is written. By default the width is
+     * estimated from the longest text written in each column, see {@link #setExactAutoSize(boolean)}. Defaults to
+     * true.
+     */
+    @Getter
+    @Setter
+    private boolean autoSizeColumns = true;
+
+    /**
+     * Size the columns with {@link Sheet#autoSizeColumn(int)}, which measures every cell with the metrics of its font
+     * instead of estimating the width from the number of characters. This is slow for large sheets and only
+     * considers the rows which are still in memory when streaming. Defaults to false.
+     */
+    @Getter
+    @Setter
+    private boolean exactAutoSize = false;
+
+    /**
+     * The number of rows of which the length of the text is used to estimate the width of the columns. Defaults to 0,
+     * which uses all the rows.
+     */
+    @Getter
+    @Setter
+    private int columnWidthSampleSize = 0;
+
+    /**
+     * The number of rows which are kept in memory when writing xlsx files. Older rows are flushed to a temporary file,
+     * so the memory use is bounded by this window instead of growing with the number of rows. Defaults to 0, which
+     * keeps the whole workbook in memory. Ignored for xls files. Rows are only flushed once their transaction has
+     * committed, so the rows of the current chunk are kept in memory as well. On a restart the rows committed by the
+     * previous execution are read back into memory, only the rows written after them are streamed.
+     */
+    @Getter
+    @Setter
+    private int rowAccessWindowSize = 0;
+
+    /**
+     * Whether the temporary files of the streaming xlsx workbook are compressed, which uses far less disk space for
+     * some CPU. Defaults to true.
+     */
+    @Getter
+    @Setter
+    private boolean compressTempFiles = true;
+
+    private SXSSFWorkbook streamingWorkbook;
+
+    /**
+     * Whether the number of rows written is stored in the execution context, to continue after them on a restart.
+     * Defaults to true.
+     */
+    @Getter
+    @Setter
+    private boolean saveState = true;
+
+    private Workbook workbook;
+    private Sheet sheet;
+    private ItemWritePlan plan;
+    private int rowsWritten;
+    private int rowsCommitted;
+    private boolean synchronizationRegistered;
+    private long writeTime;
+    private final Map<String, CellStyle> evenRowStyles = new HashMap<String, CellStyle>();
+    private final Map<String, CellStyle> oddRowStyles = new HashMap<String, CellStyle>();
+    private Font rowFont;
+    private int[] columnLengths;
+    private int measuredRows;
+
+    /**
+     * Receives the number of rows written and the time spent creating the rows and writing the workbook.
+     */
+    @Getter
+    @Setter
+    private ExcelMetricsListener metricsListener;
+
+    public DefaultExcelItemWriter() {
+        setName(ClassUtils.getShortName(DefaultExcelItemWriter.class));
+    }
+
     @Override
     public void write(List<? extends T> items) throws Exception {
-        try{
-            Assert.notNull(resource, "Set the resource for the writer before write");
-            outputStream = resource.getOutputStream();
-            Workbook workbook;
-            if (outputExtension == OUTPUT_EXTENSION_XLSX) {
-                workbook = new XSSFWorkbook();
-            }else if (outputExtension == OUTPUT_EXTENSION_XLS){
-                workbook = new HSSFWorkbook();
-            }else{
-                throw new Exception("Extension "+ outputExtension +" not supported");
+        Assert.state(workbook != null, "The writer must be opened before writing");
+        if(CollectionUtils.isEmpty(items)){
+            return;
+        }
+        long start = System.nanoTime();
+        if(plan == null){
+            plan = ItemWritePlan.forClass(items.get(0).getClass());
+            // Create the header, unless it has been written before a restart
+            if(rowsWritten == 0){
+                createHeader(sheet, createHeaderStyle(workbook), plan.getFields());
             }
-            Sheet sheet = workbook.createSheet("Sheet 1");
+            initColumnLengths();
+        }
+        try{
+            addDataToSheet(items, sheet, plan, workbook, rowsWritten + 1);
+        }catch(Exception e){
+            // don't leave the rows of a partially written chunk behind
+            removeRowsAfter(sheet, rowsWritten);
+            throw e;
+        }
+        rowsWritten += items.size();
+        writeTime += System.nanoTime() - start;
+        if(TransactionSynchronizationManager.isActualTransactionActive()){
+            registerSynchronization();
+        }else{
+            commitRows();
+        }
+    }
 
-            if(!CollectionUtils.isEmpty(items)){
-                // Create styles
-                CellStyle headerStyle = createHeaderStyle(workbook);
+    /**
+     * Commit or discard the rows written in the current transaction once it completes, so the rows of a chunk which
+     * is rolled back are written again by the next chunk instead of being duplicated.
+     */
+    private void registerSynchronization() {
+        if(synchronizationRegistered){
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCompletion(int status) {
+                synchronizationRegistered = false;
+                if(workbook == null){
+                    return;
+                }
+                if(status == STATUS_COMMITTED){
+                    commitRows();
+                }else{
+                    removeRowsAfter(sheet, rowsCommitted);
+                    rowsWritten = rowsCommitted;
+                }
+            }
+        });
+        synchronizationRegistered = true;
+    }
 
-                // Create the header and add data to the sheet
-                Field[] fields = items.get(0).getClass().getDeclaredFields();
-                Map<String, Integer> columnFieldMapper = new HashMap<String, Integer>();
-                int totalColumns = createHeader(sheet, headerStyle, fields, columnFieldMapper);
-                addDataToSheet(items, sheet, fields, columnFieldMapper, workbook);
+    /**
+     * Mark the rows written so far as committed, the committed rows of a streaming workbook can be flushed.
+     */
+    private void commitRows() {
+        rowsCommitted = rowsWritten;
+        if(streamingWorkbook != null){
+            try{
+                ((SXSSFSheet) sheet).flushRows(rowAccessWindowSize);
+            }catch(IOException e){
+                throw new ItemStreamException("Unable to flush the rows of the workbook for "
+                        + resource.getDescription(), e);
+            }
+        }
+    }
 
-                // Auto filter for the first row (header)
-                sheet.setAutoFilter(new CellRangeAddress(0, 0, 0, totalColumns - 1));
+    /**
+     * Remove the rows after the given row from the sheet.
+     */
+    private static void removeRowsAfter(Sheet sheet, int lastRow) {
+        for(int i = sheet.getLastRowNum(); i > lastRow; i--){
+            Row row = sheet.getRow(i);
+            if(row != null){
+                sheet.removeRow(row);
+            }
+        }
+    }
 
-                // Set autosize for each column
-                for(int i = 0; i < totalColumns; i++){
-                    sheet.autoSizeColumn(i);
-                }
+    private Workbook createWorkbook() throws Exception {
+        if (OUTPUT_EXTENSION_XLSX.equals(outputExtension)) {
+            return (rowAccessWindowSize > 0) ? createStreamingWorkbook(new XSSFWorkbook()) : new XSSFWorkbook();
+        }else if (OUTPUT_EXTENSION_XLS.equals(outputExtension)){
+            return new HSSFWorkbook();
+        }else{
+            throw new Exception("Extension "+ outputExtension +" not supported");
+        }
+    }
 
-                workbook.write(outputStream);
-            }
+    /**
+     * Read the workbook which has been written before a restart and remove the rows which were written after the
+     * last commit.
+     */
+    private Workbook readWorkbook() throws Exception {
+        if (!resource.exists()) {
+            throw new ItemStreamException("Unable to restart, the output resource " + resource.getDescription()
+                    + " doesn't exist");
+        }
+        Workbook existing;
+        InputStream inputStream = resource.getInputStream();
+        try{
+            existing = WorkbookFactory.create(inputStream);
         }finally{
-            outputStream.close();
+            inputStream.close();
+        }
+        Sheet existingSheet = existing.getSheetAt(0);
+        if(existingSheet.getLastRowNum() < rowsWritten){
+            throw new ItemStreamException("Unable to restart, the output resource " + resource.getDescription()
+                    + " contains " + existingSheet.getLastRowNum() + " rows instead of the " + rowsWritten
+                    + " rows which have been committed, the workbook wasn't written before the failure");
+        }
+        removeRowsAfter(existingSheet, rowsWritten);
+        if (existing instanceof XSSFWorkbook && rowAccessWindowSize > 0) {
+            return createStreamingWorkbook((XSSFWorkbook) existing);
+        }
+        return existing;
+    }
+
+    /**
+     * Wrap the workbook in a streaming workbook which doesn't flush rows by itself, the rows are flushed when they
+     * are committed.
+     */
+    private Workbook createStreamingWorkbook(XSSFWorkbook template) {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(template, -1);
+        workbook.setCompressTempFiles(compressTempFiles);
+        streamingWorkbook = workbook;
+        return workbook;
+    }
+
+    /**
+     * Delete the temporary files of the streaming workbook, if any.
+     */
+    private void disposeStreamingWorkbook() {
+        if (streamingWorkbook != null) {
+            streamingWorkbook.dispose();
+            streamingWorkbook = null;
         }
     }
 
@@ -97,99 +281,92 @@ public class DefaultExcelItemWriter<T> implements ResourceAwareItemWriterItemStr
      * Add data to the sheet
      * @param objects the list of objects to be added to the sheet
      * @param sheet the sheet
-     * @param fields the fields of the objects
-     * @param columnFieldMapper the mapped header field name / index
-     * @return The total of rows created
+     * @param plan the columns of the objects
+     * @param firstRow the index of the row for the first object
+     * @return The index of the row after the last row created
      * @throws IllegalAccessException
      */
-    private int addDataToSheet(List<? extends T> objects, Sheet sheet, Field[] fields, Map<String, Integer> columnFieldMapper,Workbook workbook) throws IllegalAccessException {
-        CreationHelper createHelper = workbook.getCreationHelper();
-        int currentRow = 1;
+    private int addDataToSheet(List<? extends T> objects, Sheet sheet, ItemWritePlan plan, Workbook workbook, int firstRow) throws IllegalAccessException {
+        int currentRow = firstRow;
+        int totalColumns = plan.getNumberOfColumns();
         for(T object : objects){
+            boolean measure = columnLengths != null
+                    && (columnWidthSampleSize <= 0 || measuredRows++ < columnWidthSampleSize);
+            boolean evenRow = currentRow % 2 == 0;
             Row row = sheet.createRow(currentRow);
-            for(Field field: fields){
-                Cell cell = row.createCell(columnFieldMapper.get(field.getName()));
-                CellStyle style  = (currentRow % 2 == 0)? createEvenRowStyle(workbook) : createOddRowStyle(workbook);
-
-                Object value = field.get(object);
-                checkForDateStyle(style, field, value, createHelper);
-                if(value!= null){
-                    setCellValue(cell, value);
+            for(int column = 0; column < totalColumns; column++){
+                ItemWritePlan.ColumnWriter columnWriter = plan.getColumn(column);
+                Cell cell = row.createCell(column);
+                int length = columnWriter.write(object, cell, measure);
+                String dataFormat = null;
+                if(length == ItemWritePlan.DATE_VALUE){
+                    dataFormat = columnWriter.getDatePattern();
+                    length = dataFormat.length();
                 }
-                cell.setCellStyle(style);
+                if(measure && length > columnLengths[column]){
+                    columnLengths[column] = length;
+                }
+                cell.setCellStyle(getCellStyle(workbook, evenRow, dataFormat));
             }
             currentRow++;
         }
         return currentRow;
     }
 
-    private void checkForDateStyle(CellStyle style, Field field,  Object value, CreationHelper createHelper) {
-        if(value!= null && value instanceof Date){
-            String pattern;
-
-            DateTimeFormat annotation = field.getAnnotation(DateTimeFormat.class);
-            if(annotation != null && !StringUtils.hasText(annotation.pattern())){
-                pattern = annotation.pattern();
-            }else{
-                DateFormat formatter = DateFormat.getDateInstance();
-                pattern = ((SimpleDateFormat)formatter).toPattern();
-            }
-
-            style.setDataFormat(createHelper.createDataFormat().getFormat(pattern));
-        }
-    }
-
-    private void setCellValue(Cell cell, Object value){
-        Class clazz = value.getClass();
-        if(clazz ==  String.class){
-            cell.setCellValue(value.toString());
-            cell.setCellType(Cell.CELL_TYPE_STRING);
-            return;
-        }
-        if(clazz == Boolean.class || clazz == boolean.class){
-            cell.setCellValue(value.toString());
-            cell.setCellType(Cell.CELL_TYPE_BOOLEAN);
-            return;
-        }
-        if ((Short.class == clazz || short.class == clazz)
-                || (Integer.class == clazz || int.class == clazz)
-                || (Long.class == clazz || long.class == clazz)){
-            cell.setCellValue(new Long(value.toString()));
-            cell.setCellType(Cell.CELL_TYPE_NUMERIC);
+    /**
+     * Start tracking the length of the text in each column to estimate the widths, from the header or from the
+     * widths of the columns written before a restart.
+     */
+    private void initColumnLengths() {
+        if(!autoSizeColumns || exactAutoSize){
             return;
         }
-        if((Float.class == clazz || float.class == clazz)
-                || (Double.class == clazz || double.class == clazz)
-                || (BigDecimal.class == clazz)) {
-            cell.setCellValue(new BigDecimal(value.toString()).doubleValue());
-            cell.setCellType(Cell.CELL_TYPE_NUMERIC);
-            return;
+        Field[] fields = plan.getFields();
+        columnLengths = new int[fields.length];
+        measuredRows = 0;
+        for(int i = 0; i < fields.length; i++){
+            // leave room for the auto filter button of the header
+            columnLengths[i] = (rowsWritten == 0) ? fields[i].getName().length() + 3
+                    : Math.max(sheet.getColumnWidth(i) / 256 - 2, 0);
         }
-        if(value instanceof Date){
-            cell.setCellValue((Date) value);
-            return;
+    }
+
+    /**
+     * Get the style for the cells of even or odd rows with the given data format. Each distinct style is created
+     * once per workbook, an xls workbook can't hold more than 4000 styles.
+     * @param workbook the workbook
+     * @param evenRow whether the cell is in an even row
+     * @param dataFormat the data format of the cell, <code>null</code> for the default format
+     * @return the style
+     */
+    private CellStyle getCellStyle(Workbook workbook, boolean evenRow, String dataFormat) {
+        Map<String, CellStyle> cellStyles = evenRow ? evenRowStyles : oddRowStyles;
+        CellStyle style = cellStyles.get(dataFormat);
+        if(style == null){
+            style = evenRow ? createEvenRowStyle(workbook) : createOddRowStyle(workbook);
+            if(dataFormat != null){
+                style.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat(dataFormat));
+            }
+            cellStyles.put(dataFormat, style);
         }
-        cell.setCellValue(value.toString());
+        return style;
     }
 
     /**
-     * Create the header from the list of fields, maps the name of field with it's column id in a Map<String, Integer>
-     *     object. Returns the number of columns created.
+     * Create the header from the list of fields, with the name of each field in its column. Returns the number of
+     * columns created.
      * @param sheet the sheet to add the header
      * @param headerStyle the style to be applied to the header
      * @param fields fields to be added to header
-     * @param columnFieldMapper the map where fields name will be mapped to it's column id
      * @return the total of created columns
      */
-    private int createHeader(Sheet sheet, CellStyle headerStyle, Field[] fields, Map<String, Integer> columnFieldMapper) {
+    private int createHeader(Sheet sheet, CellStyle headerStyle, Field[] fields) {
         Row header = sheet.createRow(0);
         int currentColumn = 0;
         for(Field field:fields){
-            columnFieldMapper.put(field.getName(), currentColumn);
             Cell cell = header.createCell(currentColumn, Cell.CELL_TYPE_STRING);
             cell.setCellStyle(headerStyle);
             cell.setCellValue(field.getName());
-            ReflectionUtils.makeAccessible(field);
             currentColumn++;
         }
         return currentColumn;
@@ -213,8 +390,7 @@ public class DefaultExcelItemWriter<T> implements ResourceAwareItemWriterItemStr
         style.setFillForegroundColor(IndexedColors.GREY_25_PERCENT.getIndex());
         style.setFillPattern(CellStyle.SOLID_FOREGROUND);
 
-        Font font = createBasicFont(workbook);
-        style.setFont(font);
+        style.setFont(getRowFont(workbook));
 
         return style;
     }
@@ -222,12 +398,18 @@ public class DefaultExcelItemWriter<T> implements ResourceAwareItemWriterItemStr
     private CellStyle createOddRowStyle(Workbook workbook){
         CellStyle style = createBasicCellStyle(workbook);
 
-        Font font = createBasicFont(workbook);
-        style.setFont(font);
+        style.setFont(getRowFont(workbook));
 
         return style;
     }
 
+    private Font getRowFont(Workbook workbook) {
+        if(rowFont == null){
+            rowFont = createBasicFont(workbook);
+        }
+        return rowFont;
+    }
+
     private Font createBasicFont(Workbook workbook) {
         Font font = workbook.createFont();
         font.setFontHeightInPoints(FONT_SIZE);
@@ -252,18 +434,138 @@ public class DefaultExcelItemWriter<T> implements ResourceAwareItemWriterItemStr
         throw new RuntimeException("Resource must implement the WritableResource interface");
     }
 
+    /**
+     * Create the workbook, or read the workbook written before a restart. The rows are added to the workbook by
+     * {@link #write(List)} and the workbook is written once, in {@link #close()}. The output isn't touched before
+     * then, so the file written by a previous execution stays intact when the JVM dies.
+     */
     @Override
     public void open(ExecutionContext executionContext) throws ItemStreamException {
-        return;
+        Assert.notNull(resource, "Set the resource for the writer before open");
+        Assert.state(workbook == null, "The writer is already open");
+        rowsWritten = 0;
+        writeTime = 0;
+        if(saveState && executionContext.containsKey(getKey(ROWS_WRITTEN))){
+            rowsWritten = executionContext.getInt(getKey(ROWS_WRITTEN));
+        }
+        rowsCommitted = rowsWritten;
+        try{
+            workbook = (rowsWritten > 0) ? readWorkbook() : createWorkbook();
+            sheet = (rowsWritten > 0) ? workbook.getSheetAt(0) : workbook.createSheet("Sheet 1");
+        }catch(ItemStreamException e){
+            reset();
+            throw e;
+        }catch(Exception e){
+            reset();
+            throw new ItemStreamException("Unable to open the workbook for " + resource.getDescription(), e);
+        }
     }
 
+    /**
+     * Store the number of rows written, including the rows of the current chunk as the execution context is saved in
+     * the transaction of the chunk.
+     */
     @Override
     public void update(ExecutionContext executionContext) throws ItemStreamException {
-       return;
+        if(saveState && workbook != null){
+            executionContext.putInt(getKey(ROWS_WRITTEN), rowsWritten);
+        }
     }
 
+    /**
+     * Write the workbook to the resource and release it. Rows which haven't been committed are left out.
+     */
     @Override
     public void close() throws ItemStreamException {
-        return;
+        if(workbook == null){
+            return;
+        }
+        try{
+            removeRowsAfter(sheet, rowsCommitted);
+            rowsWritten = rowsCommitted;
+            if(plan != null){
+                int totalColumns = plan.getNumberOfColumns();
+                // Auto filter for the first row (header)
+                sheet.setAutoFilter(new CellRangeAddress(0, 0, 0, totalColumns - 1));
+
+                // Set autosize for each column
+                if(autoSizeColumns && exactAutoSize){
+                    for(int i = 0; i < totalColumns; i++){
+                        sheet.autoSizeColumn(i);
+                    }
+                }else if(columnLengths != null){
+                    for(int i = 0; i < totalColumns; i++){
+                        sheet.setColumnWidth(i, Math.min(columnLengths[i] + 2, 255) * 256);
+                    }
+                }
+            }
+            long start = System.nanoTime();
+            writeWorkbook();
+            if(metricsListener != null){
+                metricsListener.workbookWritten(resource.getDescription(), rowsWritten, writeTime,
+                        System.nanoTime() - start);
+            }
+        }catch(IOException e){
+            throw new ItemStreamException("Unable to write the workbook to " + resource.getDescription(), e);
+        }finally{
+            reset();
+        }
+    }
+
+    /**
+     * Write the workbook to the resource. A file is replaced by writing a temporary file in the same directory and
+     * renaming it, so the file is never left half written.
+     */
+    private void writeWorkbook() throws IOException {
+        File file = getFile(resource);
+        if(file == null){
+            writeWorkbook(resource.getOutputStream());
+            return;
+        }
+        File directory = file.getAbsoluteFile().getParentFile();
+        File temp = File.createTempFile(file.getName(), ".tmp", directory);
+        try{
+            writeWorkbook(new FileOutputStream(temp));
+            // renameTo doesn't replace an existing file on every platform
+            if(!temp.renameTo(file) && !(file.delete() && temp.renameTo(file))){
+                throw new IOException("Unable to rename " + temp + " to " + file);
+            }
+        }finally{
+            if(temp.exists()){
+                temp.delete();
+            }
+        }
+    }
+
+    private void writeWorkbook(OutputStream outputStream) throws IOException {
+        try{
+            workbook.write(outputStream);
+            outputStream.flush();
+        }finally{
+            outputStream.close();
+        }
+    }
+
+    /**
+     * Get the file underlying the resource, or <code>null</code> if the resource isn't backed by a file.
+     */
+    private static File getFile(Resource resource) {
+        try{
+            return resource.getFile();
+        }catch(IOException e){
+            return null;
+        }
+    }
+
+    private void reset() {
+        disposeStreamingWorkbook();
+        workbook = null;
+        sheet = null;
+        plan = null;
+        synchronizationRegistered = false;
+        evenRowStyles.clear();
+        oddRowStyles.clear();
+        rowFont = null;
+        columnLengths = null;
     }
 }
@@ -38,30 +38,51 @@ public class DefaultRowTokenizer implements RowTokenizer, InitializingBean {
     private boolean includeSheetName = false;
     private String attributeForSheetName = null;
 
+    private volatile SheetMetadata metadata;
+
     public FieldSet tokenize(final Sheet sheet, final String[] row) {
-        String[] values = new String[sheet.getNumberOfColumns()];
+        final SheetMetadata current = this.getMetadata(sheet);
+        String[] values = new String[current.numberOfColumns];
         System.arraycopy(row, 0, values, 0, row.length);
 
         if (this.includeSheetName) {
-            values = StringUtils.addStringToArray(values, sheet.getName());
+            values = StringUtils.addStringToArray(values, current.name);
         }
 
         if (this.useColumnHeader) {
-            String[] names = sheet.getHeader();
-            if (this.includeSheetName) {
-                names = StringUtils.addStringToArray(names, this.attributeForSheetName);
-            }
-            for (int i = 0; i < names.length; i++) {
-                names[i] = this.converter.toAttribute(names[i]);
-            }
-
-            return this.fieldSetFactory.create(values, names);
+            return this.fieldSetFactory.create(values, current.names);
         } else {
             return this.fieldSetFactory.create(values);
         }
 
     }
 
+    /**
+     * Get the metadata of the given sheet, which is computed once per sheet instead of for each row.
+     */
+    private SheetMetadata getMetadata(final Sheet sheet) {
+        SheetMetadata current = this.metadata;
+        if (current == null || current.sheet != sheet) {
+            current = new SheetMetadata(sheet, this.createNames(sheet));
+            this.metadata = current;
+        }
+        return current;
+    }
+
+    private String[] createNames(final Sheet sheet) {
+        if (!this.useColumnHeader) {
+            return null;
+        }
+        String[] names = sheet.getHeader().clone();
+        if (this.includeSheetName) {
+            names = StringUtils.addStringToArray(names, this.attributeForSheetName);
+        }
+        for (int i = 0; i < names.length; i++) {
+            names[i] = this.converter.toAttribute(names[i]);
+        }
+        return names;
+    }
+
     /**
      * Set the {@link FieldSetFactory} to use. The {@link DefaultFieldSetFactory} is used by default.
      * 
@@ -102,4 +123,22 @@ public class DefaultRowTokenizer implements RowTokenizer, InitializingBean {
                     "When using column header as attributes and including the sheetname an attribute name for the sheetname is required.");
         }
     }
+
+    /**
+     * The metadata of the sheet being tokenized.
+     */
+    private static final class SheetMetadata {
+
+        private final Sheet sheet;
+        private final String name;
+        private final int numberOfColumns;
+        private final String[] names;
+
+        private SheetMetadata(final Sheet sheet, final String[] names) {
+            this.sheet = sheet;
+            this.name = sheet.getName();
+            this.numberOfColumns = sheet.getNumberOfColumns();
+            this.names = names;
+        }
+    }
 }
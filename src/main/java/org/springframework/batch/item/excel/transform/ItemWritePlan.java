@@ -0,0 +1,270 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.batch.item.excel.transform;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ConcurrentReferenceHashMap.ReferenceType;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.util.StringUtils;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.text.DateFormat;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The columns written by the {@link DefaultExcelItemWriter} for a class of items: one column per declared field, each
+ * with a writer which is specialized on the type of the field. Primitive fields are read with the typed accessors of
+ * the {@link Field} and written without boxing or converting them to a String.
+ *
+ * <p>Plans are created once per class and cached with soft references, which are cleared when memory runs low, so
+ * that the cache doesn't keep classes from being unloaded.</p>
+ */
+final class ItemWritePlan {
+
+    /** Returned by {@link ColumnWriter#write(Object, Cell, boolean)} when the value is <code>null</code>. */
+    static final int NULL_VALUE = -1;
+
+    /** Returned by {@link ColumnWriter#write(Object, Cell, boolean)} when the value is written as a date. */
+    static final int DATE_VALUE = -2;
+
+    private static final ConcurrentMap<Class<?>, ItemWritePlan> PLANS =
+            new ConcurrentReferenceHashMap<Class<?>, ItemWritePlan>(16, 0.75f, 16, ReferenceType.SOFT);
+
+    private final Field[] fields;
+
+    private final ColumnWriter[] columns;
+
+    private ItemWritePlan(final Class<?> type) {
+        this.fields = type.getDeclaredFields();
+        this.columns = new ColumnWriter[this.fields.length];
+        for (int i = 0; i < this.fields.length; i++) {
+            ReflectionUtils.makeAccessible(this.fields[i]);
+            this.columns[i] = createColumnWriter(this.fields[i]);
+        }
+    }
+
+    /**
+     * Get the plan for the given class of items.
+     */
+    static ItemWritePlan forClass(final Class<?> type) {
+        ItemWritePlan plan = PLANS.get(type);
+        if (plan == null) {
+            plan = new ItemWritePlan(type);
+            final ItemWritePlan existing = PLANS.putIfAbsent(type, plan);
+            if (existing != null) {
+                plan = existing;
+            }
+        }
+        return plan;
+    }
+
+    Field[] getFields() {
+        return this.fields;
+    }
+
+    int getNumberOfColumns() {
+        return this.columns.length;
+    }
+
+    ColumnWriter getColumn(final int column) {
+        return this.columns[column];
+    }
+
+    private static ColumnWriter createColumnWriter(final Field field) {
+        final Class<?> type = field.getType();
+        if (type == String.class) {
+            return new StringColumnWriter(field);
+        }
+        if (type == boolean.class) {
+            return new BooleanColumnWriter(field);
+        }
+        if (type == int.class || type == short.class || type == long.class) {
+            return new LongColumnWriter(field);
+        }
+        if (type == double.class) {
+            return new DoubleColumnWriter(field);
+        }
+        if (type == Boolean.class || type == Integer.class || type == Short.class || type == Long.class
+                || type == Double.class || type == BigDecimal.class) {
+            return new ObjectColumnWriter(field, null);
+        }
+        // floats, dates and other types are written as before, dispatching on the value
+        final boolean dates = Date.class.isAssignableFrom(type) || type.isAssignableFrom(Date.class);
+        return new ObjectColumnWriter(field, dates ? getDatePattern(field) : null);
+    }
+
+    /**
+     * Get the pattern used to format the dates of the given field.
+     */
+    private static String getDatePattern(final Field field) {
+        final DateTimeFormat annotation = field.getAnnotation(DateTimeFormat.class);
+        if (annotation != null && StringUtils.hasText(annotation.pattern())) {
+            return annotation.pattern();
+        }
+        return ((SimpleDateFormat) DateFormat.getDateInstance()).toPattern();
+    }
+
+    /**
+     * Count the characters of the decimal representation of the number, without formatting it.
+     */
+    private static int getLength(long number) {
+        int length = (number < 0) ? 2 : 1;
+        while ((number /= 10) != 0) {
+            length++;
+        }
+        return length;
+    }
+
+    /**
+     * Writes the value of a field of an item to a cell.
+     */
+    abstract static class ColumnWriter {
+
+        protected final Field field;
+
+        private final String datePattern;
+
+        ColumnWriter(final Field field, final String datePattern) {
+            this.field = field;
+            this.datePattern = datePattern;
+        }
+
+        /**
+         * Write the value of the field of the given item to the cell.
+         *
+         * @param item the item
+         * @param cell the cell
+         * @param measure whether to return the length of the text
+         * @return the number of characters the value is displayed with (0 when not measured), {@link #NULL_VALUE}
+         * when the cell has been left blank or {@link #DATE_VALUE} when it contains a date
+         */
+        abstract int write(Object item, Cell cell, boolean measure) throws IllegalAccessException;
+
+        /**
+         * Get the pattern for the dates written by this column, if any.
+         */
+        String getDatePattern() {
+            return this.datePattern;
+        }
+    }
+
+    private static final class StringColumnWriter extends ColumnWriter {
+
+        private StringColumnWriter(final Field field) {
+            super(field, null);
+        }
+
+        int write(final Object item, final Cell cell, final boolean measure) throws IllegalAccessException {
+            final String value = (String) this.field.get(item);
+            if (value == null) {
+                return NULL_VALUE;
+            }
+            cell.setCellValue(value);
+            return value.length();
+        }
+    }
+
+    private static final class BooleanColumnWriter extends ColumnWriter {
+
+        private BooleanColumnWriter(final Field field) {
+            super(field, null);
+        }
+
+        int write(final Object item, final Cell cell, final boolean measure) throws IllegalAccessException {
+            cell.setCellValue(this.field.getBoolean(item));
+            return 5;
+        }
+    }
+
+    private static final class LongColumnWriter extends ColumnWriter {
+
+        private LongColumnWriter(final Field field) {
+            super(field, null);
+        }
+
+        int write(final Object item, final Cell cell, final boolean measure) throws IllegalAccessException {
+            final long value = this.field.getLong(item);
+            cell.setCellValue(value);
+            return measure ? getLength(value) : 0;
+        }
+    }
+
+    private static final class DoubleColumnWriter extends ColumnWriter {
+
+        private DoubleColumnWriter(final Field field) {
+            super(field, null);
+        }
+
+        int write(final Object item, final Cell cell, final boolean measure) throws IllegalAccessException {
+            final double value = this.field.getDouble(item);
+            cell.setCellValue(value);
+            return measure ? Double.toString(value).length() : 0;
+        }
+    }
+
+    /**
+     * Writes the value depending on its type, for wrapper types and fields which aren't specialized.
+     */
+    private static final class ObjectColumnWriter extends ColumnWriter {
+
+        private ObjectColumnWriter(final Field field, final String datePattern) {
+            super(field, datePattern);
+        }
+
+        int write(final Object item, final Cell cell, final boolean measure) throws IllegalAccessException {
+            final Object value = this.field.get(item);
+            if (value == null) {
+                return NULL_VALUE;
+            }
+            if (value instanceof String) {
+                cell.setCellValue((String) value);
+                return ((String) value).length();
+            }
+            if (value instanceof Boolean) {
+                cell.setCellValue((Boolean) value);
+                return 5;
+            }
+            if (value instanceof Integer || value instanceof Short || value instanceof Long) {
+                final long number = ((Number) value).longValue();
+                cell.setCellValue(number);
+                return measure ? getLength(number) : 0;
+            }
+            if (value instanceof Double || value instanceof BigDecimal) {
+                cell.setCellValue(((Number) value).doubleValue());
+                return measure ? value.toString().length() : 0;
+            }
+            if (value instanceof Float) {
+                // the decimal value of the float (0.1), not the exact binary value (0.10000000149011612)
+                final String text = value.toString();
+                cell.setCellValue(Double.parseDouble(text));
+                return text.length();
+            }
+            if (value instanceof Date && this.getDatePattern() != null) {
+                cell.setCellValue((Date) value);
+                return DATE_VALUE;
+            }
+            final String text = value.toString();
+            cell.setCellValue(text);
+            return text.length();
+        }
+    }
+}
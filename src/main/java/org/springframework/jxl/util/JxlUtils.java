@@ -20,9 +20,6 @@ import jxl.Cell;
 import jxl.Workbook;
 import org.springframework.util.StringUtils;
 
-import java.util.ArrayList;
-import java.util.List;
-
 /**
  * Class containing utility methods to work with JXL.
  *
@@ -80,10 +77,22 @@ public final class JxlUtils {
      * @return the content as String[]
      */
     public static String[] extractContents(final Cell[] row) {
-        final List<String> values = new ArrayList<String>();
-        for (final Cell cell : row) {
-            values.add(cell.getColumn(), isEmpty(cell) ? null : cell.getContents());
+        return extractContents(row, null);
+    }
+
+    /**
+     * Extract the content from the given row into the given buffer. The buffer is only used when it has the same
+     * length as the row, otherwise a new array is created.
+     *
+     * @param row the row
+     * @param buffer the array to reuse, may be <code>null</code>
+     * @return the content as String[]
+     */
+    public static String[] extractContents(final Cell[] row, final String[] buffer) {
+        final String[] values = (buffer != null && buffer.length == row.length) ? buffer : new String[row.length];
+        for (int i = 0; i < row.length; i++) {
+            values[i] = isEmpty(row[i]) ? null : row[i].getContents();
         }
-        return values.toArray(new String[values.size()]);
+        return values;
     }
 }
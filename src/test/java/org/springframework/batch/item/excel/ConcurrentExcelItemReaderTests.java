@@ -0,0 +1,208 @@
+package org.springframework.batch.item.excel;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.excel.mapping.PassThroughRowMapper;
+import org.springframework.batch.item.excel.poi.PoiItemReader;
+import org.springframework.batch.item.excel.poi.StreamingXlsxItemReader;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ConcurrentExcelItemReaderTests {
+
+    private ExecutorService executor;
+
+    @Before
+    public void setup() {
+        this.executor = Executors.newFixedThreadPool(8);
+    }
+
+    @After
+    public void after() {
+        this.executor.shutdownNow();
+    }
+
+    @Test
+    public void readAllRowsConcurrently() throws Exception {
+        final ConcurrentExcelItemReader<String[]> reader = this.createReader(new PoiItemReader<String[]>(), "/MAP-ICONS.xls");
+        reader.open(new ExecutionContext());
+        try {
+            assertEquals(this.readSequentially(new PoiItemReader<String[]>(), "/MAP-ICONS.xls"), this.readConcurrently(reader));
+        } finally {
+            reader.close();
+        }
+    }
+
+    @Test
+    public void readAllRowsConcurrentlyFromStreamingReader() throws Exception {
+        final ConcurrentExcelItemReader<String[]> reader = this.createReader(new StreamingXlsxItemReader<String[]>(), "/MAP-ICONS.xlsx");
+        reader.open(new ExecutionContext());
+        try {
+            assertEquals(this.readSequentially(new PoiItemReader<String[]>(), "/MAP-ICONS.xlsx"), this.readConcurrently(reader));
+        } finally {
+            reader.close();
+        }
+    }
+
+    @Test
+    public void restartSkipsCommittedRowsAndRereadsUncommittedRows() throws Exception {
+        final ExecutionContext executionContext = new ExecutionContext();
+        final ConcurrentExcelItemReader<String[]> reader = this.createReader(new PoiItemReader<String[]>(), "/MAP-ICONS.xls");
+        reader.open(executionContext);
+        final List<String> uncommitted = this.executor.submit(this.chunk(reader, 5, null)).get();
+        final List<String> committed = this.executor.submit(this.chunk(reader, 5, executionContext)).get();
+        reader.close();
+
+        final ConcurrentExcelItemReader<String[]> restarted = this.createReader(new PoiItemReader<String[]>(), "/MAP-ICONS.xls");
+        restarted.open(executionContext);
+        try {
+            final List<String> rows = this.readConcurrently(restarted);
+            assertTrue(rows.containsAll(uncommitted));
+            rows.addAll(committed);
+            Collections.sort(rows);
+            assertEquals(this.readSequentially(new PoiItemReader<String[]>(), "/MAP-ICONS.xls"), rows);
+        } finally {
+            restarted.close();
+        }
+    }
+
+    @Test
+    public void savedPositionNeverPassesUncommittedRows() throws Exception {
+        for (int round = 0; round < 50; round++) {
+            final PoiItemReader<Integer> delegate = new PoiItemReader<Integer>();
+            delegate.setLinesToSkip(1);
+            delegate.setSheetIndex(0);
+            delegate.setResource(new ClassPathResource("/MAP-ICONS.xls"));
+            delegate.setRowMapper(new RowMapper<Integer>() {
+                public Integer mapRow(final Sheet sheet, final String[] row, final int rowNum) {
+                    return rowNum;
+                }
+            });
+            final ConcurrentExcelItemReader<Integer> reader = new ConcurrentExcelItemReader<Integer>();
+            reader.setDelegate(delegate);
+            reader.afterPropertiesSet();
+            reader.open(new ExecutionContext());
+            try {
+                final Set<Integer> uncommitted = new ConcurrentSkipListSet<Integer>();
+                final List<Future<Void>> futures = new ArrayList<Future<Void>>();
+                for (int i = 0; i < 8; i++) {
+                    futures.add(this.executor.submit(this.commitChunks(reader, uncommitted)));
+                }
+                for (final Future<Void> future : futures) {
+                    future.get();
+                }
+            } finally {
+                reader.close();
+            }
+        }
+    }
+
+    /**
+     * Reads chunks of a single row and verifies after each update that the saved state would re-read every row which
+     * is read but not yet committed by any of the threads.
+     */
+    private Callable<Void> commitChunks(final ConcurrentExcelItemReader<Integer> reader,
+                                       final Set<Integer> uncommitted) {
+        return new Callable<Void>() {
+            public Void call() throws Exception {
+                Integer row;
+                while ((row = reader.read()) != null) {
+                    uncommitted.add(row);
+                    // process the item while the other threads read and commit
+                    Thread.yield();
+                    // the row is no longer verified once the update starts, which commits it
+                    uncommitted.remove(row);
+                    final ExecutionContext executionContext = new ExecutionContext();
+                    reader.update(executionContext);
+                    final long position = executionContext.getLong("ConcurrentExcelItemReader.position");
+                    final List<String> committed = Arrays.asList(StringUtils.commaDelimitedListToStringArray(
+                            executionContext.getString("ConcurrentExcelItemReader.committed")));
+                    for (final Integer pending : uncommitted) {
+                        assertTrue("Row " + pending + " is skipped on restart", pending >= position);
+                        assertFalse("Row " + pending + " is skipped on restart",
+                                committed.contains(String.valueOf(pending)));
+                    }
+                }
+                return null;
+            }
+        };
+    }
+
+    private ConcurrentExcelItemReader<String[]> createReader(final AbstractExcelItemReader<String[]> delegate,
+                                                             final String resource) throws Exception {
+        delegate.setLinesToSkip(1);
+        delegate.setResource(new ClassPathResource(resource));
+        delegate.setRowMapper(new PassThroughRowMapper());
+        final ConcurrentExcelItemReader<String[]> reader = new ConcurrentExcelItemReader<String[]>();
+        reader.setDelegate(delegate);
+        reader.afterPropertiesSet();
+        return reader;
+    }
+
+    private Callable<List<String>> chunk(final ConcurrentExcelItemReader<String[]> reader, final int size,
+                                         final ExecutionContext executionContext) {
+        return new Callable<List<String>>() {
+            public List<String> call() throws Exception {
+                final List<String> rows = new ArrayList<String>();
+                String[] row;
+                while (rows.size() < size && (row = reader.read()) != null) {
+                    rows.add(StringUtils.arrayToCommaDelimitedString(row));
+                }
+                if (executionContext != null) {
+                    reader.update(executionContext);
+                }
+                return rows;
+            }
+        };
+    }
+
+    private List<String> readConcurrently(final ConcurrentExcelItemReader<String[]> reader) throws Exception {
+        final List<Future<List<String>>> futures = new ArrayList<Future<List<String>>>();
+        for (int i = 0; i < 4; i++) {
+            futures.add(this.executor.submit(this.chunk(reader, Integer.MAX_VALUE, null)));
+        }
+        final List<String> rows = new ArrayList<String>();
+        for (final Future<List<String>> future : futures) {
+            rows.addAll(future.get());
+        }
+        Collections.sort(rows);
+        return rows;
+    }
+
+    private List<String> readSequentially(final AbstractExcelItemReader<String[]> reader, final String resource)
+            throws Exception {
+        reader.setLinesToSkip(1);
+        reader.setResource(new ClassPathResource(resource));
+        reader.setRowMapper(new PassThroughRowMapper());
+        reader.afterPropertiesSet();
+        reader.open(new ExecutionContext());
+        final List<String> rows = new ArrayList<String>();
+        try {
+            String[] row;
+            while ((row = reader.read()) != null) {
+                rows.add(StringUtils.arrayToCommaDelimitedString(row));
+            }
+        } finally {
+            reader.close();
+        }
+        Collections.sort(rows);
+        return rows;
+    }
+}
@@ -0,0 +1,65 @@
+package org.springframework.batch.item.excel;
+
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.junit.Test;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.excel.mapping.PassThroughRowMapper;
+import org.springframework.batch.item.excel.poi.PoiItemReader;
+import org.springframework.core.io.ByteArrayResource;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class CountingExcelMetricsListenerTests {
+
+    @Test
+    public void reportRowsAndSampledTimes() throws Exception {
+        this.verifyMetrics(0);
+    }
+
+    @Test
+    public void reportRowsAndSampledTimesWithReadAhead() throws Exception {
+        this.verifyMetrics(2);
+    }
+
+    private void verifyMetrics(final int readAheadSize) throws Exception {
+        final Workbook workbook = new HSSFWorkbook();
+        final org.apache.poi.ss.usermodel.Sheet sheet = workbook.createSheet("data");
+        sheet.createRow(0).createCell(0).setCellValue("header");
+        sheet.createRow(1).createCell(0).setCellValue("a");
+        sheet.createRow(2).createCell(0).setCellValue("");
+        sheet.createRow(3).createCell(0).setCellValue("b");
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        workbook.write(out);
+
+        final CountingExcelMetricsListener metrics = new CountingExcelMetricsListener();
+        final PoiItemReader<String[]> reader = new PoiItemReader<String[]>();
+        reader.setLinesToSkip(1);
+        reader.setResource(new ByteArrayResource(out.toByteArray()));
+        reader.setRowMapper(new PassThroughRowMapper());
+        reader.setReadAheadSize(readAheadSize);
+        reader.setMetricsListener(metrics);
+        reader.setMetricsSampleInterval(1);
+        reader.afterPropertiesSet();
+        reader.open(new ExecutionContext());
+        try {
+            assertNotNull(reader.read());
+            assertNotNull(reader.read());
+            assertNull(reader.read());
+        } finally {
+            reader.close();
+        }
+
+        assertEquals(1, metrics.getWorkbooksOpened());
+        assertEquals(out.size(), metrics.getBytesRead());
+        assertEquals(2, metrics.getRowsRead());
+        assertEquals(1, metrics.getBlankRowsSkipped());
+        assertEquals(Collections.singletonMap("data", 2L), metrics.getRowsPerSheet());
+        assertEquals(2, metrics.getSampledRows());
+    }
+}
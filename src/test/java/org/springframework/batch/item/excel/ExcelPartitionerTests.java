@@ -0,0 +1,93 @@
+package org.springframework.batch.item.excel;
+
+import org.junit.Test;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.excel.mapping.PassThroughRowMapper;
+import org.springframework.batch.item.excel.poi.PoiItemReader;
+import org.springframework.batch.item.excel.poi.StreamingXlsItemReader;
+import org.springframework.batch.item.excel.poi.StreamingXlsxItemReader;
+import org.springframework.core.io.ClassPathResource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ExcelPartitionerTests {
+
+    @Test
+    public void partitionsReadAllRows() throws Exception {
+        final Map<String, ExecutionContext> partitions = this.partition(new PoiItemReader<String[]>(), "/MAP-ICONS.xls", 4);
+        assertTrue(partitions.size() >= 4);
+        assertRowsEqual(this.readAll(new PoiItemReader<String[]>(), "/MAP-ICONS.xls", new ExecutionContext()),
+                this.readPartitions(partitions, "/MAP-ICONS.xls"));
+    }
+
+    @Test
+    public void partitionStreamingXlsUsingDimensions() throws Exception {
+        final Map<String, ExecutionContext> partitions = this.partition(new StreamingXlsItemReader<String[]>(), "/MAP-ICONS.xls", 4);
+        assertTrue(partitions.size() >= 4);
+        assertRowsEqual(this.readAll(new PoiItemReader<String[]>(), "/MAP-ICONS.xls", new ExecutionContext()),
+                this.readPartitions(partitions, "/MAP-ICONS.xls"));
+    }
+
+    @Test
+    public void partitionStreamingXlsxUsingDimensions() throws Exception {
+        final Map<String, ExecutionContext> partitions = this.partition(new StreamingXlsxItemReader<String[]>(), "/MAP-ICONS.xlsx", 4);
+        assertTrue(partitions.size() >= 4);
+        assertRowsEqual(this.readAll(new PoiItemReader<String[]>(), "/MAP-ICONS.xlsx", new ExecutionContext()),
+                this.readPartitions(partitions, "/MAP-ICONS.xlsx"));
+    }
+
+    private Map<String, ExecutionContext> partition(final AbstractExcelItemReader<String[]> reader, final String resource,
+                                                    final int gridSize) throws Exception {
+        reader.setResource(new ClassPathResource(resource));
+        final ExcelPartitioner partitioner = new ExcelPartitioner();
+        partitioner.setReader(reader);
+        partitioner.afterPropertiesSet();
+        return partitioner.partition(gridSize);
+    }
+
+    private List<String[]> readPartitions(final Map<String, ExecutionContext> partitions, final String resource)
+            throws Exception {
+        final List<String[]> rows = new ArrayList<String[]>();
+        for (int i = 0; i < partitions.size(); i++) {
+            rows.addAll(this.readAll(new PoiItemReader<String[]>(), resource, partitions.get("partition" + i)));
+        }
+        return rows;
+    }
+
+    private List<String[]> readAll(final AbstractExcelItemReader<String[]> reader, final String resource,
+                                   final ExecutionContext partition) throws Exception {
+        reader.setLinesToSkip(1);
+        reader.setResource(new ClassPathResource(resource));
+        reader.setRowMapper(new PassThroughRowMapper());
+        if (partition.containsKey(ExcelPartitioner.SHEET_INDEX_KEY)) {
+            reader.setSheetIndex(partition.getInt(ExcelPartitioner.SHEET_INDEX_KEY));
+            reader.setStartRow(partition.getInt(ExcelPartitioner.START_ROW_KEY));
+            reader.setEndRow(partition.getInt(ExcelPartitioner.END_ROW_KEY));
+        }
+        reader.afterPropertiesSet();
+        reader.open(new ExecutionContext());
+        final List<String[]> rows = new ArrayList<String[]>();
+        try {
+            String[] row;
+            while ((row = reader.read()) != null) {
+                rows.add(row);
+            }
+        } finally {
+            reader.close();
+        }
+        return rows;
+    }
+
+    private static void assertRowsEqual(final List<String[]> expected, final List<String[]> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertArrayEquals(expected.get(i), actual.get(i));
+        }
+    }
+}
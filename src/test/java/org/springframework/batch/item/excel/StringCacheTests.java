@@ -0,0 +1,33 @@
+package org.springframework.batch.item.excel;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests for {@link StringCache}.
+ */
+public class StringCacheTests {
+
+    private final StringCache cache = new StringCache(16);
+
+    @Test
+    public void returnCanonicalInstanceForEqualValues() {
+        final String first = new String("NL");
+        assertSame(first, this.cache.get(first));
+        assertSame(first, this.cache.get(new String("NL")));
+        assertNull(this.cache.get((String) null));
+    }
+
+    @Test
+    public void replaceValuesOfRow() {
+        final String first = new String("active");
+        this.cache.get(first);
+        final String[] row = {new String("active"), null, "other"};
+        this.cache.get(row);
+        assertSame(first, row[0]);
+        assertArrayEquals(new String[]{"active", null, "other"}, row);
+    }
+}
@@ -0,0 +1,32 @@
+package org.springframework.batch.item.excel;
+
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class StringRowCursorTests {
+
+    @Test
+    public void convertDatesAsPoi() {
+        final double[] serials = {0, 1, 59, 60, 61, 0.5, 25569, 41000.75, 41000.999999, 2958465.99};
+        for (final double serial : serials) {
+            assertEquals("Serial " + serial, DateUtil.getJavaDate(serial), StringRowCursor.getJavaDate(serial, false));
+        }
+    }
+
+    @Test
+    public void convertDatesOfThe1904DateSystemAsPoi() {
+        final double[] serials = {0, 1, 59, 60, 61, 0.5, 24107, 39538.75, 39538.999999, 2957003.99};
+        for (final double serial : serials) {
+            assertEquals("Serial " + serial, DateUtil.getJavaDate(serial, true),
+                    StringRowCursor.getJavaDate(serial, true));
+        }
+    }
+
+    @Test
+    public void returnNullForNegativeSerials() {
+        assertNull(StringRowCursor.getJavaDate(-1, false));
+    }
+}
@@ -2,16 +2,32 @@ package org.springframework.batch.item.excel.jxl;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Workbook;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.excel.AbstractExcelItemReader;
 import org.springframework.batch.item.excel.RowCallbackHandler;
+import org.springframework.batch.item.excel.RowCursor;
 import org.springframework.batch.item.excel.Sheet;
+import org.springframework.batch.item.excel.TypedRowMapper;
 import org.springframework.batch.item.excel.mapping.PassThroughRowMapper;
+import org.springframework.batch.item.excel.poi.PoiItemReader;
+import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
 import org.springframework.util.StringUtils;
 
+import java.io.ByteArrayOutputStream;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
+
 import static org.junit.Assert.assertEquals;
 
 /**
@@ -54,6 +70,49 @@ public class JxlItemReaderTest {
         } while (row != null);
     }
 
+    @Test
+    public void readDatesAsPoiItemReader() throws Exception {
+        final TimeZone timeZone = TimeZone.getDefault();
+        TimeZone.setDefault(TimeZone.getTimeZone("America/New_York"));
+        try {
+            final Date date = new GregorianCalendar(2014, Calendar.MARCH, 9, 1, 30).getTime();
+            final Workbook workbook = new HSSFWorkbook();
+            final Cell cell = workbook.createSheet().createRow(0).createCell(0);
+            cell.setCellValue(date);
+            final CellStyle style = workbook.createCellStyle();
+            style.setDataFormat(workbook.createDataFormat().getFormat("yyyy-mm-dd hh:mm"));
+            cell.setCellStyle(style);
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            workbook.write(out);
+            final ByteArrayResource resource = new ByteArrayResource(out.toByteArray());
+
+            assertEquals(date, this.readDate(new PoiItemReader<Date>(), resource));
+            assertEquals(date, this.readDate(new JxlItemReader<Date>(), resource));
+        } finally {
+            TimeZone.setDefault(timeZone);
+        }
+    }
+
+    private Date readDate(final AbstractExcelItemReader<Date> reader, final Resource resource) throws Exception {
+        reader.setResource(resource);
+        reader.setRowMapper(new TypedRowMapper<Date>() {
+            public Date mapRow(final Sheet sheet, final RowCursor row, final int rowNum) {
+                return row.getDate(0);
+            }
+
+            public Date mapRow(final Sheet sheet, final String[] row, final int rowNum) {
+                throw new UnsupportedOperationException();
+            }
+        });
+        reader.afterPropertiesSet();
+        reader.open(new ExecutionContext());
+        try {
+            return reader.read();
+        } finally {
+            reader.close();
+        }
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void testRequiredProperties() throws Exception {
         final JxlItemReader reader = new JxlItemReader();
@@ -0,0 +1,82 @@
+package org.springframework.batch.item.excel.mapping;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.batch.item.excel.CellType;
+import org.springframework.batch.item.excel.RowCursor;
+import org.springframework.batch.item.excel.Sheet;
+
+import java.math.BigDecimal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link FieldRowMapper}.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class FieldRowMapperTests {
+
+    @Mock
+    private Sheet sheet;
+
+    @Mock
+    private RowCursor row;
+
+    private final FieldRowMapper<Player> mapper = new FieldRowMapper<Player>(Player.class);
+
+    @Before
+    public void setup() {
+        Mockito.when(this.sheet.getHeader()).thenReturn(new String[]{"name", "age", "score", "active", "unknown"});
+    }
+
+    @Test
+    public void bindNumbersWithoutConvertingToString() throws Exception {
+        Mockito.when(this.row.getNumberOfCells()).thenReturn(5);
+        Mockito.when(this.row.getCellType(0)).thenReturn(CellType.STRING);
+        Mockito.when(this.row.getCell(0)).thenReturn("Marten");
+        Mockito.when(this.row.getCellType(1)).thenReturn(CellType.NUMERIC);
+        Mockito.when(this.row.getDouble(1)).thenReturn(42d);
+        Mockito.when(this.row.getCellType(2)).thenReturn(CellType.NUMERIC);
+        Mockito.when(this.row.getDouble(2)).thenReturn(0.1d);
+        Mockito.when(this.row.getCellType(3)).thenReturn(CellType.BOOLEAN);
+        Mockito.when(this.row.getBoolean(3)).thenReturn(true);
+
+        final Player player = this.mapper.mapRow(this.sheet, this.row, 1);
+
+        assertEquals("Marten", player.name);
+        assertEquals(42, player.age);
+        assertEquals(new BigDecimal("0.1"), player.score);
+        assertTrue(player.active);
+        Mockito.verify(this.row, Mockito.never()).getCell(1);
+        Mockito.verify(this.row, Mockito.never()).getCell(2);
+        Mockito.verify(this.row, Mockito.never()).getCells();
+    }
+
+    @Test
+    public void bindStringRowAndSkipBlankCells() throws Exception {
+        final Player player = this.mapper.mapRow(this.sheet, new String[]{"Marten", "42", "", "true"}, 1);
+
+        assertEquals("Marten", player.name);
+        assertEquals(42, player.age);
+        assertNull(player.score);
+        assertTrue(player.active);
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void rejectFractionForIntegralField() throws Exception {
+        this.mapper.mapRow(this.sheet, new String[]{"Marten", "42.5"}, 1);
+    }
+
+    private static class Player {
+        private String name;
+        private int age;
+        private BigDecimal score;
+        private boolean active;
+    }
+}
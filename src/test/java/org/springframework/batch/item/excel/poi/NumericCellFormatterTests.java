@@ -0,0 +1,53 @@
+package org.springframework.batch.item.excel.poi;
+
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for {@link NumericCellFormatter}.
+ */
+public class NumericCellFormatterTests {
+
+    @Test
+    public void formatIntegralValues() {
+        assertEquals("0", NumericCellFormatter.format(-0.0d));
+        assertEquals("42", NumericCellFormatter.format(42d));
+        assertEquals("-1234567", NumericCellFormatter.format(-1234567d));
+        assertEquals("100000000000000000000", NumericCellFormatter.format(1e20d));
+    }
+
+    @Test
+    public void formatFractionsWithoutExponent() {
+        assertEquals("12.3", NumericCellFormatter.format(12.3d));
+        assertEquals("0.1", NumericCellFormatter.format(0.1d));
+        assertEquals("0.00001", NumericCellFormatter.format(1e-5d));
+        assertEquals("12345678.5", NumericCellFormatter.format(12345678.5d));
+    }
+
+    @Test
+    public void formatAsDataFormatterGeneral() {
+        final DataFormatter dataFormatter = new DataFormatter();
+        final double[] values = {0.002, 2e-4, 1e-5, -12.3, 4.35, 123456789012.345, 1e15, 1e15 + 0.5,
+                9007199254740993d, 1e20, 1e23, 2e23, -1e23, Long.MAX_VALUE};
+        for (final double value : values) {
+            assertEquals(dataFormatter.formatRawCellContents(value, 0, "General"), NumericCellFormatter.format(value));
+        }
+    }
+
+    @Test
+    public void keepDigitsWhichDataFormatterRoundsAway() {
+        assertEquals("0.30000000000000004", NumericCellFormatter.format(0.1d + 0.2d));
+        assertEquals("0.3333333333333333", NumericCellFormatter.format(1d / 3));
+        assertEquals("0.000000000001", NumericCellFormatter.format(1e-12d));
+    }
+
+    @Test
+    public void formatWithDataFormatWhenConfigured() {
+        assertEquals("0.5", new NumericCellFormatter().format(0.5d, 10, "0.00%"));
+        final NumericCellFormatter formatter = new NumericCellFormatter(true);
+        assertEquals("50.00%", formatter.format(0.5d, 10, "0.00%"));
+        assertEquals("0.5", formatter.format(0.5d, 0, "General"));
+    }
+}
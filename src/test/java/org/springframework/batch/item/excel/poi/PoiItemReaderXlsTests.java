@@ -2,16 +2,30 @@ package org.springframework.batch.item.excel.poi;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Workbook;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.springframework.batch.item.ExecutionContext;
 import org.springframework.batch.item.excel.RowCallbackHandler;
+import org.springframework.batch.item.excel.RowCursor;
+import org.springframework.batch.item.excel.RowFilter;
+import org.springframework.batch.item.excel.RowMapper;
 import org.springframework.batch.item.excel.Sheet;
 import org.springframework.batch.item.excel.mapping.PassThroughRowMapper;
+import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.util.StringUtils;
 
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
 public class PoiItemReaderXlsTests {
 
     private final Log logger = LogFactory.getLog(this.getClass());
@@ -48,6 +62,166 @@ public class PoiItemReaderXlsTests {
         } while (row != null);
     }
 
+    @Test
+    public void restartFromSavedPosition() throws Exception {
+        for (int i = 0; i < 50; i++) {
+            this.itemReader.read();
+        }
+        final ExecutionContext executionContext = new ExecutionContext();
+        this.itemReader.update(executionContext);
+        final String[] expected = (String[]) this.itemReader.read();
+
+        final AtomicInteger mapped = new AtomicInteger();
+        final PoiItemReader reader = new PoiItemReader();
+        reader.setLinesToSkip(1);
+        reader.setResource(new ClassPathResource("/MAP-ICONS.xls"));
+        reader.setRowMapper(new RowMapper<String[]>() {
+            public String[] mapRow(final Sheet sheet, final String[] row, final int rowNum) throws Exception {
+                mapped.incrementAndGet();
+                return row;
+            }
+        });
+        reader.afterPropertiesSet();
+        reader.open(executionContext);
+        try {
+            assertArrayEquals(expected, (String[]) reader.read());
+            assertEquals(1, mapped.get());
+        } finally {
+            reader.close();
+        }
+    }
+
+    @Test
+    public void skipLargeRegionOfBlankRows() throws Exception {
+        final HSSFWorkbook workbook = new HSSFWorkbook();
+        final org.apache.poi.ss.usermodel.Sheet sheet = workbook.createSheet();
+        sheet.createRow(0).createCell(0).setCellValue("header");
+        for (int i = 1; i < 60000; i++) {
+            sheet.createRow(i).createCell(0).setCellValue(" ");
+        }
+        sheet.createRow(60000).createCell(0).setCellValue("value");
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        workbook.write(out);
+
+        final PoiItemReader<String[]> reader = new PoiItemReader<String[]>();
+        reader.setLinesToSkip(1);
+        reader.setResource(new ByteArrayResource(out.toByteArray()));
+        reader.setRowMapper(new PassThroughRowMapper());
+        reader.afterPropertiesSet();
+        reader.open(new ExecutionContext());
+        try {
+            assertArrayEquals(new String[]{"value"}, reader.read());
+            assertEquals(60000, reader.getCurrentRowIndex());
+            assertNull(reader.read());
+        } finally {
+            reader.close();
+        }
+    }
+
+    @Test
+    public void filterRowsBeforeMappingAndRestartAfterFilteredRows() throws Exception {
+        final HSSFWorkbook workbook = new HSSFWorkbook();
+        final org.apache.poi.ss.usermodel.Sheet sheet = workbook.createSheet();
+        sheet.createRow(0).createCell(0).setCellValue("status");
+        for (int i = 1; i <= 10; i++) {
+            sheet.createRow(i).createCell(0).setCellValue((i % 3 == 0) ? "ACTIVE" : "INACTIVE");
+        }
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        workbook.write(out);
+
+        final AtomicInteger mapped = new AtomicInteger();
+        final PoiItemReader<Integer> reader = new PoiItemReader<Integer>();
+        reader.setLinesToSkip(1);
+        reader.setResource(new ByteArrayResource(out.toByteArray()));
+        reader.setRowMapper(new RowMapper<Integer>() {
+            public Integer mapRow(final Sheet sheet, final String[] row, final int rowNum) throws Exception {
+                mapped.incrementAndGet();
+                return rowNum;
+            }
+        });
+        reader.setRowFilter(new RowFilter() {
+            public boolean accept(final Sheet sheet, final RowCursor row, final int rowNum) {
+                return "ACTIVE".equals(row.getCell(0));
+            }
+        });
+        reader.afterPropertiesSet();
+        final ExecutionContext executionContext = new ExecutionContext();
+        reader.open(executionContext);
+        try {
+            assertEquals(Integer.valueOf(3), reader.read());
+            reader.update(executionContext);
+            assertEquals(Integer.valueOf(6), reader.read());
+            assertEquals(2, mapped.get());
+        } finally {
+            reader.close();
+        }
+
+        reader.open(executionContext);
+        try {
+            assertEquals(Integer.valueOf(6), reader.read());
+            assertEquals(Integer.valueOf(9), reader.read());
+            assertNull(reader.read());
+        } finally {
+            reader.close();
+        }
+    }
+
+    @Test
+    public void readCachedFormulaResults() throws Exception {
+        final Workbook workbook = new HSSFWorkbook();
+        final org.apache.poi.ss.usermodel.Sheet sheet = workbook.createSheet();
+        sheet.createRow(0).createCell(0).setCellValue("header");
+        final Row row = sheet.createRow(1);
+        row.createCell(0).setCellValue(21);
+        row.createCell(1).setCellFormula("A2*2");
+        row.createCell(2).setCellFormula("A2&\"x\"");
+        row.createCell(3).setCellFormula("A2>0");
+        row.createCell(4).setCellFormula("1/0");
+        workbook.getCreationHelper().createFormulaEvaluator().evaluateAll();
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        workbook.write(out);
+
+        final PoiItemReader<String[]> reader = new PoiItemReader<String[]>();
+        reader.setLinesToSkip(1);
+        reader.setResource(new ByteArrayResource(out.toByteArray()));
+        reader.setRowMapper(new PassThroughRowMapper());
+        reader.afterPropertiesSet();
+        reader.open(new ExecutionContext());
+        try {
+            assertArrayEquals(new String[]{"21", "42", "21x", "true", "#DIV/0!"}, reader.read());
+        } finally {
+            reader.close();
+        }
+    }
+
+    @Test
+    public void evaluateFormulasWithoutCachedResults() throws Exception {
+        final Workbook workbook = new HSSFWorkbook();
+        final org.apache.poi.ss.usermodel.Sheet sheet = workbook.createSheet();
+        sheet.createRow(0).createCell(0).setCellValue("header");
+        final Row row = sheet.createRow(1);
+        row.createCell(0).setCellValue(21);
+        row.createCell(1).setCellFormula("A2*2");
+        row.createCell(2).setCellFormula("A2&\"x\"");
+        row.createCell(3).setCellFormula("A2>0");
+        row.createCell(4).setCellFormula("1/0");
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        workbook.write(out);
+
+        final PoiItemReader<String[]> reader = new PoiItemReader<String[]>();
+        reader.setLinesToSkip(1);
+        reader.setResource(new ByteArrayResource(out.toByteArray()));
+        reader.setRowMapper(new PassThroughRowMapper());
+        reader.setEvaluateFormulas(true);
+        reader.afterPropertiesSet();
+        reader.open(new ExecutionContext());
+        try {
+            assertArrayEquals(new String[]{"21", "42", "21x", "true", "#DIV/0!"}, reader.read());
+        } finally {
+            reader.close();
+        }
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void testRequiredProperties() throws Exception {
         final PoiItemReader reader = new PoiItemReader();
@@ -6,12 +6,26 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
 import org.springframework.batch.item.excel.RowCallbackHandler;
 import org.springframework.batch.item.excel.Sheet;
 import org.springframework.batch.item.excel.mapping.PassThroughRowMapper;
+import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.util.FileCopyUtils;
 import org.springframework.util.StringUtils;
 
+import java.io.File;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.io.InputStream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
 public class PoiItemReaderXlsxTests {
 
     private final Log logger = LogFactory.getLog(this.getClass());
@@ -48,6 +62,67 @@ public class PoiItemReaderXlsxTests {
         } while (row != null);
     }
 
+    @Test
+    public void readExcelFileFromNonFileResource() throws Exception {
+        final PoiItemReader reader = new PoiItemReader();
+        reader.setLinesToSkip(1);
+        reader.setResource(new ByteArrayResource(
+                FileCopyUtils.copyToByteArray(new ClassPathResource("/MAP-ICONS.xlsx").getInputStream())));
+        reader.setRowMapper(new PassThroughRowMapper());
+        reader.setSpillToDiskThreshold(0);
+        reader.afterPropertiesSet();
+        reader.open(new ExecutionContext());
+        try {
+            String[] expected;
+            do {
+                expected = (String[]) this.itemReader.read();
+                final String[] actual = (String[]) reader.read();
+                if (expected == null) {
+                    assertNull(actual);
+                } else {
+                    assertArrayEquals(expected, actual);
+                }
+            } while (expected != null);
+        } finally {
+            reader.close();
+        }
+    }
+
+    @Test
+    public void deleteTemporaryFileWhenCopyFails() throws Exception {
+        final File tmpdir = new File(System.getProperty("java.io.tmpdir"));
+        final int temporaryFiles = this.countTemporaryFiles(tmpdir);
+        final PoiItemReader reader = new PoiItemReader();
+        reader.setResource(new InputStreamResource(new InputStream() {
+            private int count = 0;
+
+            @Override
+            public int read() throws IOException {
+                if (this.count++ > 1000) {
+                    throw new IOException("Connection reset");
+                }
+                return 0;
+            }
+        }));
+        reader.setRowMapper(new PassThroughRowMapper());
+        reader.setSpillToDiskThreshold(100);
+        reader.afterPropertiesSet();
+        try {
+            reader.open(new ExecutionContext());
+            fail("The copy should have failed");
+        } catch (ItemStreamException e) {
+            assertEquals(temporaryFiles, this.countTemporaryFiles(tmpdir));
+        }
+    }
+
+    private int countTemporaryFiles(final File directory) {
+        return directory.list(new FilenameFilter() {
+            public boolean accept(final File dir, final String name) {
+                return name.startsWith("spring-batch-excel");
+            }
+        }).length;
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void testRequiredProperties() throws Exception {
         final PoiItemReader reader = new PoiItemReader();
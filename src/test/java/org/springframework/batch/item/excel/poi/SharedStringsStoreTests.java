@@ -0,0 +1,63 @@
+package org.springframework.batch.item.excel.poi;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for the {@link SharedStringsStore} implementations.
+ */
+public class SharedStringsStoreTests {
+
+    private static final String[] STRINGS = {"foo", "", "bär", "日本語", "baz"};
+
+    @Test
+    public void inMemoryStore() {
+        this.verifyStore(new InMemorySharedStringsStore());
+    }
+
+    @Test
+    public void mappedFileStore() {
+        this.verifyStore(new MappedFileSharedStringsStore());
+    }
+
+    @Test
+    public void cachingFileStore() {
+        final CachingFileSharedStringsStore store = new CachingFileSharedStringsStore();
+        store.setCacheSize(2);
+        this.verifyStore(store);
+        for (final String value : STRINGS) {
+            store.add(value);
+        }
+        assertEquals("foo", store.get(0));
+        assertEquals("foo", store.get(0));
+        assertEquals("baz", store.get(4));
+        assertEquals(1, store.getHits());
+        assertEquals(2, store.getMisses());
+        store.close();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void addingAfterReadingShouldLeadToException() {
+        final MappedFileSharedStringsStore store = new MappedFileSharedStringsStore();
+        try {
+            store.add("foo");
+            store.get(0);
+            store.add("bar");
+        } finally {
+            store.close();
+        }
+    }
+
+    private void verifyStore(final SharedStringsStore store) {
+        for (final String value : STRINGS) {
+            store.add(value);
+        }
+        assertEquals(STRINGS.length, store.size());
+        for (int i = STRINGS.length - 1; i >= 0; i--) {
+            assertEquals(STRINGS[i], store.get(i));
+        }
+        store.close();
+        assertEquals(0, store.size());
+    }
+}
@@ -0,0 +1,225 @@
+package org.springframework.batch.item.excel.poi;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.poi.hssf.model.InternalWorkbook;
+import org.apache.poi.hssf.record.DateWindow1904Record;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.excel.AbstractExcelItemReader;
+import org.springframework.batch.item.excel.RowCallbackHandler;
+import org.springframework.batch.item.excel.RowCursor;
+import org.springframework.batch.item.excel.RowMapper;
+import org.springframework.batch.item.excel.Sheet;
+import org.springframework.batch.item.excel.TypedRowMapper;
+import org.springframework.batch.item.excel.mapping.PassThroughRowMapper;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.util.StringUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class StreamingXlsItemReaderTests {
+
+    private final Log logger = LogFactory.getLog(this.getClass());
+
+    private StreamingXlsItemReader itemReader;
+
+    @Before
+    public void setup() throws Exception {
+        this.itemReader = new StreamingXlsItemReader();
+        this.itemReader.setLinesToSkip(1); //First line is column names
+        this.itemReader.setResource(new ClassPathResource("/MAP-ICONS.xls"));
+        this.itemReader.setRowMapper(new PassThroughRowMapper());
+        this.itemReader.setSkippedRowsCallback(new RowCallbackHandler() {
+            public void handleRow(final Sheet sheet, final String[] row) {
+                logger.debug("Skipping: " + StringUtils.arrayToCommaDelimitedString(row));
+            }
+        });
+        this.itemReader.afterPropertiesSet();
+        this.itemReader.open(new ExecutionContext());
+    }
+
+    @After
+    public void after() throws Exception {
+        this.itemReader.close();
+    }
+
+    @Test
+    public void readExcelFile() throws Exception {
+        String[] row;
+        do {
+            row = (String[]) this.itemReader.read();
+            if (row != null)
+                this.logger.debug("Read: " + StringUtils.arrayToCommaDelimitedString(row));
+        } while (row != null);
+    }
+
+    @Test
+    public void readCachedFormulaResults() throws Exception {
+        final Workbook workbook = new HSSFWorkbook();
+        final org.apache.poi.ss.usermodel.Sheet sheet = workbook.createSheet();
+        sheet.createRow(0).createCell(0).setCellValue("header");
+        final Row row = sheet.createRow(1);
+        row.createCell(0).setCellValue(21);
+        row.createCell(1).setCellFormula("A2*2");
+        row.createCell(2).setCellFormula("A2&\"x\"");
+        row.createCell(3).setCellFormula("A2>0");
+        row.createCell(4).setCellFormula("1/0");
+        workbook.getCreationHelper().createFormulaEvaluator().evaluateAll();
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        workbook.write(out);
+
+        final StreamingXlsItemReader<String[]> reader = new StreamingXlsItemReader<String[]>();
+        reader.setLinesToSkip(1);
+        reader.setResource(new ByteArrayResource(out.toByteArray()));
+        reader.setRowMapper(new PassThroughRowMapper());
+        reader.afterPropertiesSet();
+        reader.open(new ExecutionContext());
+        try {
+            assertArrayEquals(new String[]{"21", "42", "21x", "true", "#DIV/0!"}, reader.read());
+        } finally {
+            reader.close();
+        }
+    }
+
+    @Test
+    public void readSameRowsAsPoiItemReader() throws Exception {
+        final PoiItemReader reader = new PoiItemReader();
+        reader.setLinesToSkip(1);
+        reader.setResource(new ClassPathResource("/MAP-ICONS.xls"));
+        reader.setRowMapper(new PassThroughRowMapper());
+        reader.afterPropertiesSet();
+        reader.open(new ExecutionContext());
+        try {
+            String[] expected;
+            do {
+                expected = (String[]) reader.read();
+                final String[] actual = (String[]) this.itemReader.read();
+                if (expected == null) {
+                    assertNull(actual);
+                } else {
+                    assertArrayEquals(expected, actual);
+                }
+            } while (expected != null);
+        } finally {
+            reader.close();
+        }
+    }
+
+    @Test
+    public void readIncludedColumnsAsPoiItemReader() throws Exception {
+        this.itemReader.close();
+        this.itemReader.setIncludedColumnIndexes(new int[]{2, 0});
+        this.itemReader.open(new ExecutionContext());
+        final PoiItemReader<String[]> reader = new PoiItemReader<String[]>();
+        reader.setLinesToSkip(1);
+        reader.setIncludedColumnIndexes(new int[]{2, 0});
+        reader.setResource(new ClassPathResource("/MAP-ICONS.xls"));
+        reader.setRowMapper(new PassThroughRowMapper());
+        reader.afterPropertiesSet();
+        reader.open(new ExecutionContext());
+        try {
+            String[] expected;
+            do {
+                expected = reader.read();
+                final String[] actual = (String[]) this.itemReader.read();
+                if (expected == null) {
+                    assertNull(actual);
+                } else {
+                    assertArrayEquals(expected, actual);
+                }
+            } while (expected != null);
+        } finally {
+            reader.close();
+        }
+    }
+
+    @Test
+    public void restartFromSavedPosition() throws Exception {
+        for (int i = 0; i < 50; i++) {
+            this.itemReader.read();
+        }
+        final ExecutionContext executionContext = new ExecutionContext();
+        this.itemReader.update(executionContext);
+        final String[] expected = (String[]) this.itemReader.read();
+
+        final AtomicInteger mapped = new AtomicInteger();
+        final StreamingXlsItemReader reader = new StreamingXlsItemReader();
+        reader.setLinesToSkip(1);
+        reader.setResource(new ClassPathResource("/MAP-ICONS.xls"));
+        reader.setRowMapper(new RowMapper<String[]>() {
+            public String[] mapRow(final Sheet sheet, final String[] row, final int rowNum) throws Exception {
+                mapped.incrementAndGet();
+                return row;
+            }
+        });
+        reader.afterPropertiesSet();
+        reader.open(executionContext);
+        try {
+            assertArrayEquals(expected, (String[]) reader.read());
+            assertEquals(1, mapped.get());
+        } finally {
+            reader.close();
+        }
+    }
+
+    @Test
+    public void readDatesOfThe1904DateSystem() throws Exception {
+        final InternalWorkbook internalWorkbook = InternalWorkbook.createWorkbook();
+        final DateWindow1904Record dateWindow =
+                (DateWindow1904Record) internalWorkbook.findFirstRecordBySid(DateWindow1904Record.sid);
+        dateWindow.setWindowing((short) 1);
+        final Workbook workbook = HSSFWorkbook.create(internalWorkbook);
+        final Date date = new GregorianCalendar(2014, Calendar.MARCH, 9, 13, 30).getTime();
+        workbook.createSheet().createRow(0).createCell(0).setCellValue(DateUtil.getExcelDate(date, true));
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        workbook.write(out);
+        final ByteArrayResource resource = new ByteArrayResource(out.toByteArray());
+
+        assertEquals(date, this.readDate(new PoiItemReader<Date>(), resource));
+        assertEquals(date, this.readDate(new StreamingXlsItemReader<Date>(), resource));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRequiredProperties() throws Exception {
+        final StreamingXlsItemReader reader = new StreamingXlsItemReader();
+        reader.afterPropertiesSet();
+    }
+
+    private Date readDate(final AbstractExcelItemReader<Date> reader, final Resource resource) throws Exception {
+        reader.setResource(resource);
+        reader.setRowMapper(new TypedRowMapper<Date>() {
+            public Date mapRow(final Sheet sheet, final RowCursor row, final int rowNum) {
+                return row.getDate(0);
+            }
+
+            public Date mapRow(final Sheet sheet, final String[] row, final int rowNum) {
+                throw new UnsupportedOperationException();
+            }
+        });
+        reader.afterPropertiesSet();
+        reader.open(new ExecutionContext());
+        try {
+            return reader.read();
+        } finally {
+            reader.close();
+        }
+    }
+
+}
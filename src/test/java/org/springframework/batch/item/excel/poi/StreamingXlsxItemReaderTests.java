@@ -0,0 +1,315 @@
+package org.springframework.batch.item.excel.poi;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.excel.AbstractExcelItemReader;
+import org.springframework.batch.item.excel.RowCallbackHandler;
+import org.springframework.batch.item.excel.RowCursor;
+import org.springframework.batch.item.excel.RowMapper;
+import org.springframework.batch.item.excel.Sheet;
+import org.springframework.batch.item.excel.TypedRowMapper;
+import org.springframework.batch.item.excel.mapping.PassThroughRowMapper;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.util.StringUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class StreamingXlsxItemReaderTests {
+
+    private final Log logger = LogFactory.getLog(this.getClass());
+
+    private StreamingXlsxItemReader itemReader;
+
+    @Before
+    public void setup() throws Exception {
+        this.itemReader = new StreamingXlsxItemReader();
+        this.itemReader.setLinesToSkip(1); //First line is column names
+        this.itemReader.setResource(new ClassPathResource("/MAP-ICONS.xlsx"));
+        this.itemReader.setRowMapper(new PassThroughRowMapper());
+        this.itemReader.setSkippedRowsCallback(new RowCallbackHandler() {
+            public void handleRow(final Sheet sheet, final String[] row) {
+                logger.debug("Skipping: " + StringUtils.arrayToCommaDelimitedString(row));
+            }
+        });
+        this.itemReader.afterPropertiesSet();
+        this.itemReader.open(new ExecutionContext());
+    }
+
+    @After
+    public void after() throws Exception {
+        this.itemReader.close();
+    }
+
+    @Test
+    public void readExcelFile() throws Exception {
+        String[] row;
+        do {
+            row = (String[]) this.itemReader.read();
+            if (row != null)
+                this.logger.debug("Read: " + StringUtils.arrayToCommaDelimitedString(row));
+        } while (row != null);
+    }
+
+    @Test
+    public void readCachedFormulaResults() throws Exception {
+        final Workbook workbook = new XSSFWorkbook();
+        final org.apache.poi.ss.usermodel.Sheet sheet = workbook.createSheet();
+        sheet.createRow(0).createCell(0).setCellValue("header");
+        final Row row = sheet.createRow(1);
+        row.createCell(0).setCellValue(21);
+        row.createCell(1).setCellFormula("A2*2");
+        row.createCell(2).setCellFormula("A2&\"x\"");
+        row.createCell(3).setCellFormula("A2>0");
+        row.createCell(4).setCellFormula("1/0");
+        workbook.getCreationHelper().createFormulaEvaluator().evaluateAll();
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        workbook.write(out);
+
+        final StreamingXlsxItemReader<String[]> reader = new StreamingXlsxItemReader<String[]>();
+        reader.setLinesToSkip(1);
+        reader.setResource(new ByteArrayResource(out.toByteArray()));
+        reader.setRowMapper(new PassThroughRowMapper());
+        reader.afterPropertiesSet();
+        reader.open(new ExecutionContext());
+        try {
+            assertArrayEquals(new String[]{"21", "42", "21x", "true", "#DIV/0!"}, reader.read());
+        } finally {
+            reader.close();
+        }
+    }
+
+    @Test
+    public void readSameRowsAsPoiItemReader() throws Exception {
+        this.verifySameRowsAsPoiItemReader();
+    }
+
+    @Test
+    public void readSameRowsWithFileBasedSharedStrings() throws Exception {
+        this.itemReader.close();
+        final CachingFileSharedStringsStore sharedStrings = new CachingFileSharedStringsStore();
+        sharedStrings.setCacheSize(100);
+        this.itemReader = new StreamingXlsxItemReader();
+        this.itemReader.setLinesToSkip(1);
+        this.itemReader.setResource(new ClassPathResource("/MAP-ICONS.xlsx"));
+        this.itemReader.setRowMapper(new PassThroughRowMapper());
+        this.itemReader.setSharedStringsStore(sharedStrings);
+        this.itemReader.open(new ExecutionContext());
+        this.verifySameRowsAsPoiItemReader();
+        assertTrue(sharedStrings.getMisses() > 0);
+    }
+
+    @Test
+    public void readSameRowsWithReadAhead() throws Exception {
+        this.itemReader.close();
+        this.itemReader.setReadAheadSize(4);
+        this.itemReader.open(new ExecutionContext());
+        this.verifySameRowsAsPoiItemReader();
+    }
+
+    @Test
+    public void readSameRowsWithStringCache() throws Exception {
+        this.itemReader.close();
+        this.itemReader.setStringCacheSize(64);
+        this.itemReader.open(new ExecutionContext());
+        this.verifySameRowsAsPoiItemReader();
+    }
+
+    @Test
+    public void restartWithReadAhead() throws Exception {
+        this.itemReader.close();
+        this.itemReader.setReadAheadSize(4);
+        this.itemReader.open(new ExecutionContext());
+        for (int i = 0; i < 50; i++) {
+            this.itemReader.read();
+        }
+        final ExecutionContext executionContext = new ExecutionContext();
+        this.itemReader.update(executionContext);
+        final String[] expected = (String[]) this.itemReader.read();
+        this.itemReader.close();
+
+        this.itemReader.open(executionContext);
+        assertArrayEquals(expected, (String[]) this.itemReader.read());
+    }
+
+    @Test
+    public void readIncludedColumnsByNameAndIndex() throws Exception {
+        final PoiItemReader<String[]> reader = new PoiItemReader<String[]>();
+        reader.setLinesToSkip(1);
+        reader.setSheetIndex(0);
+        reader.setIncludedColumnIndexes(new int[]{2, 0});
+        reader.setResource(new ClassPathResource("/MAP-ICONS.xlsx"));
+        reader.setRowMapper(new PassThroughRowMapper());
+        reader.afterPropertiesSet();
+        reader.open(new ExecutionContext());
+        try {
+            final String[] header = reader.getSheet(0).getHeader();
+            this.itemReader.close();
+            this.itemReader.setSheetIndex(0);
+            this.itemReader.setIncludedColumnNames(new String[]{header[2], header[0]});
+            this.itemReader.open(new ExecutionContext());
+            String[] expected;
+            int rows = 0;
+            while ((expected = reader.read()) != null) {
+                assertEquals(2, expected.length);
+                assertArrayEquals(expected, (String[]) this.itemReader.read());
+                rows++;
+            }
+            assertNull(this.itemReader.read());
+            assertTrue(rows > 0);
+        } finally {
+            reader.close();
+        }
+    }
+
+    @Test
+    public void skipSharedStringsOfExcludedColumns() throws Exception {
+        final List<String> lookedUp = new ArrayList<String>();
+        final StreamingXlsxItemReader<String[]> reader = new StreamingXlsxItemReader<String[]>();
+        reader.setLinesToSkip(1);
+        reader.setIncludedColumnNames(new String[]{"b0"});
+        reader.setResource(this.createColumnsWorkbook());
+        reader.setRowMapper(new PassThroughRowMapper());
+        reader.setSharedStringsStore(new InMemorySharedStringsStore() {
+            @Override
+            public String get(final int index) {
+                final String value = super.get(index);
+                lookedUp.add(value);
+                return value;
+            }
+        });
+        reader.afterPropertiesSet();
+        reader.open(new ExecutionContext());
+        try {
+            for (int i = 1; i < 10; i++) {
+                assertArrayEquals(new String[]{"b" + i}, reader.read());
+            }
+            assertNull(reader.read());
+        } finally {
+            reader.close();
+        }
+        // only the header is parsed completely, as it is needed to resolve the names
+        assertEquals(Arrays.asList("a0", "b0", "b1", "b2", "b3", "b4", "b5", "b6", "b7", "b8", "b9"), lookedUp);
+    }
+
+    @Test
+    public void keepTheNameOfMissingColumnsInTheHeader() throws Exception {
+        final StreamingXlsxItemReader<String> reader = new StreamingXlsxItemReader<String>();
+        reader.setLinesToSkip(1);
+        reader.setIncludedColumnNames(new String[]{"b0", "missing"});
+        reader.setResource(this.createColumnsWorkbook());
+        reader.setRowMapper(new RowMapper<String>() {
+            public String mapRow(final Sheet sheet, final String[] row, final int rowNum) {
+                return StringUtils.arrayToCommaDelimitedString(sheet.getHeader()) + "=" + row[0];
+            }
+        });
+        reader.afterPropertiesSet();
+        reader.open(new ExecutionContext());
+        try {
+            assertEquals("b0,missing=b1", reader.read());
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * Create a workbook with two string columns and a numeric column, the first row contains the header.
+     */
+    private ByteArrayResource createColumnsWorkbook() throws Exception {
+        final Workbook workbook = new XSSFWorkbook();
+        final org.apache.poi.ss.usermodel.Sheet sheet = workbook.createSheet();
+        for (int i = 0; i < 10; i++) {
+            final Row row = sheet.createRow(i);
+            row.createCell(0).setCellValue("a" + i);
+            row.createCell(1).setCellValue("b" + i);
+            row.createCell(2).setCellValue(i * 1.5);
+        }
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        workbook.write(out);
+        return new ByteArrayResource(out.toByteArray());
+    }
+
+    private void verifySameRowsAsPoiItemReader() throws Exception {
+        final PoiItemReader reader = new PoiItemReader();
+        reader.setLinesToSkip(1);
+        reader.setResource(new ClassPathResource("/MAP-ICONS.xlsx"));
+        reader.setRowMapper(new PassThroughRowMapper());
+        reader.afterPropertiesSet();
+        reader.open(new ExecutionContext());
+        try {
+            String[] expected;
+            do {
+                expected = (String[]) reader.read();
+                final String[] actual = (String[]) this.itemReader.read();
+                if (expected == null) {
+                    assertNull(actual);
+                } else {
+                    assertArrayEquals(expected, actual);
+                }
+            } while (expected != null);
+        } finally {
+            reader.close();
+        }
+    }
+
+    @Test
+    public void readDatesOfThe1904DateSystem() throws Exception {
+        final XSSFWorkbook workbook = new XSSFWorkbook();
+        workbook.getCTWorkbook().getWorkbookPr().setDate1904(true);
+        final Date date = new GregorianCalendar(2014, Calendar.MARCH, 9, 13, 30).getTime();
+        workbook.createSheet().createRow(0).createCell(0).setCellValue(DateUtil.getExcelDate(date, true));
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        workbook.write(out);
+        final ByteArrayResource resource = new ByteArrayResource(out.toByteArray());
+
+        assertEquals(date, this.readDate(new PoiItemReader<Date>(), resource));
+        assertEquals(date, this.readDate(new StreamingXlsxItemReader<Date>(), resource));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRequiredProperties() throws Exception {
+        final StreamingXlsxItemReader reader = new StreamingXlsxItemReader();
+        reader.afterPropertiesSet();
+    }
+
+    private Date readDate(final AbstractExcelItemReader<Date> reader, final Resource resource) throws Exception {
+        reader.setResource(resource);
+        reader.setRowMapper(new TypedRowMapper<Date>() {
+            public Date mapRow(final Sheet sheet, final RowCursor row, final int rowNum) {
+                return row.getDate(0);
+            }
+
+            public Date mapRow(final Sheet sheet, final String[] row, final int rowNum) {
+                throw new UnsupportedOperationException();
+            }
+        });
+        reader.afterPropertiesSet();
+        reader.open(new ExecutionContext());
+        try {
+            return reader.read();
+        } finally {
+            reader.close();
+        }
+    }
+
+}
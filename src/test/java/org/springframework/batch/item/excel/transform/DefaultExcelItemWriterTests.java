@@ -0,0 +1,399 @@
+package org.springframework.batch.item.excel.transform;
+
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.excel.mapping.PassThroughRowMapper;
+import org.springframework.batch.item.excel.poi.PoiItemReader;
+import org.springframework.batch.support.transaction.ResourcelessTransactionManager;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallbackWithoutResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.text.DateFormat;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class DefaultExcelItemWriterTests {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void writeStreamingWorkbook() throws Exception {
+        final File file = this.folder.newFile("items.xlsx");
+        final DefaultExcelItemWriter<Item> writer = this.createWriter(file, DefaultExcelItemWriter.OUTPUT_EXTENSION_XLSX);
+        writer.setRowAccessWindowSize(10);
+        writer.open(new ExecutionContext());
+        writer.write(this.createItems(0, 250));
+        writer.close();
+
+        this.verifyRows(file, 0, 250);
+    }
+
+    @Test
+    public void appendChunksAndWriteOnClose() throws Exception {
+        final File file = this.folder.newFile("items.xlsx");
+        final DefaultExcelItemWriter<Item> writer = this.createWriter(file, DefaultExcelItemWriter.OUTPUT_EXTENSION_XLSX);
+        writer.open(new ExecutionContext());
+        for (int i = 0; i < 5; i++) {
+            writer.write(this.createItems(i * 20, 20));
+        }
+        writer.close();
+
+        this.verifyRows(file, 0, 100);
+    }
+
+    @Test
+    public void reuseCellStylesOfTheWorkbook() throws Exception {
+        final File file = this.folder.newFile("dates.xls");
+        final DefaultExcelItemWriter<DatedItem> writer = new DefaultExcelItemWriter<DatedItem>();
+        writer.setOutputExtension(DefaultExcelItemWriter.OUTPUT_EXTENSION_XLS);
+        writer.setAutoSizeColumns(false);
+        writer.setResource(new FileSystemResource(file));
+        writer.open(new ExecutionContext());
+        for (int chunk = 0; chunk < 3; chunk++) {
+            final List<DatedItem> items = new ArrayList<DatedItem>();
+            for (int i = 0; i < 1000; i++) {
+                items.add(new DatedItem("item " + i, new Date(i * 86400000L)));
+            }
+            writer.write(items);
+        }
+        writer.close();
+
+        final InputStream is = new FileInputStream(file);
+        try {
+            final HSSFWorkbook workbook = new HSSFWorkbook(is);
+            assertEquals(3000, workbook.getSheetAt(0).getLastRowNum());
+            // the built-in styles, the header and an even and odd style with and without the date format
+            assertTrue(workbook.getNumCellStyles() < 30);
+        } finally {
+            is.close();
+        }
+    }
+
+    @Test
+    public void writePrimitiveWrapperAndNullValues() throws Exception {
+        final File file = this.folder.newFile("typed.xls");
+        final DefaultExcelItemWriter<TypedItem> writer = new DefaultExcelItemWriter<TypedItem>();
+        writer.setOutputExtension(DefaultExcelItemWriter.OUTPUT_EXTENSION_XLS);
+        writer.setResource(new FileSystemResource(file));
+        writer.open(new ExecutionContext());
+        writer.write(Arrays.asList(
+                new TypedItem(-42L, 1.5, true, 7L, 0.1f, new BigDecimal("12.25"), 'x'),
+                new TypedItem(0L, 0.0, false, null, null, null, null)));
+        writer.close();
+
+        final InputStream is = new FileInputStream(file);
+        try {
+            final Sheet sheet = new HSSFWorkbook(is).getSheetAt(0);
+            final Row values = sheet.getRow(1);
+            assertEquals(-42.0, values.getCell(0).getNumericCellValue(), 0.0);
+            assertEquals(1.5, values.getCell(1).getNumericCellValue(), 0.0);
+            assertTrue(values.getCell(2).getBooleanCellValue());
+            assertEquals(7.0, values.getCell(3).getNumericCellValue(), 0.0);
+            assertEquals(0.1, values.getCell(4).getNumericCellValue(), 0.0);
+            assertEquals(12.25, values.getCell(5).getNumericCellValue(), 0.0);
+            assertEquals("x", values.getCell(6).getStringCellValue());
+
+            final Row nulls = sheet.getRow(2);
+            assertFalse(nulls.getCell(2).getBooleanCellValue());
+            for (int i = 3; i < 7; i++) {
+                assertEquals(Cell.CELL_TYPE_BLANK, nulls.getCell(i).getCellType());
+            }
+        } finally {
+            is.close();
+        }
+    }
+
+    @Test
+    public void formatDatesWithThePatternOfTheAnnotation() throws Exception {
+        final File file = this.folder.newFile("annotated.xls");
+        final DefaultExcelItemWriter<AnnotatedItem> writer = new DefaultExcelItemWriter<AnnotatedItem>();
+        writer.setOutputExtension(DefaultExcelItemWriter.OUTPUT_EXTENSION_XLS);
+        writer.setResource(new FileSystemResource(file));
+        writer.open(new ExecutionContext());
+        writer.write(Collections.singletonList(new AnnotatedItem(new Date(0))));
+        writer.close();
+
+        final InputStream is = new FileInputStream(file);
+        try {
+            final Row row = new HSSFWorkbook(is).getSheetAt(0).getRow(1);
+            assertEquals("dd.MM.yyyy", row.getCell(0).getCellStyle().getDataFormatString());
+            assertEquals(((SimpleDateFormat) DateFormat.getDateInstance()).toPattern(),
+                    row.getCell(1).getCellStyle().getDataFormatString());
+        } finally {
+            is.close();
+        }
+    }
+
+    @Test
+    public void estimateColumnWidthsFromTheLongestText() throws Exception {
+        assertArrayEquals(new int[]{10 * 256, 13 * 256}, this.writeColumnWidths(0));
+        // the header is longer than the names of the first 10 items
+        assertArrayEquals(new int[]{9 * 256, 13 * 256}, this.writeColumnWidths(10));
+    }
+
+    private int[] writeColumnWidths(final int columnWidthSampleSize) throws Exception {
+        final File file = this.folder.newFile();
+        final DefaultExcelItemWriter<Item> writer = this.createWriter(file, DefaultExcelItemWriter.OUTPUT_EXTENSION_XLS);
+        writer.setColumnWidthSampleSize(columnWidthSampleSize);
+        writer.open(new ExecutionContext());
+        writer.write(this.createItems(0, 250));
+        writer.close();
+
+        final InputStream is = new FileInputStream(file);
+        try {
+            final Sheet sheet = new HSSFWorkbook(is).getSheetAt(0);
+            return new int[]{sheet.getColumnWidth(0), sheet.getColumnWidth(1)};
+        } finally {
+            is.close();
+        }
+    }
+
+    @Test
+    public void restartAfterLastCommittedRow() throws Exception {
+        this.verifyRestart(DefaultExcelItemWriter.OUTPUT_EXTENSION_XLS, 0);
+    }
+
+    @Test
+    public void restartStreamingWorkbookAfterLastCommittedRow() throws Exception {
+        this.verifyRestart(DefaultExcelItemWriter.OUTPUT_EXTENSION_XLSX, 10);
+    }
+
+    @Test
+    public void keepTheFileIntactUntilClose() throws Exception {
+        final File file = this.folder.newFile("items.xlsx");
+        final ExecutionContext executionContext = new ExecutionContext();
+        DefaultExcelItemWriter<Item> writer = this.createWriter(file, DefaultExcelItemWriter.OUTPUT_EXTENSION_XLSX);
+        writer.open(executionContext);
+        writer.write(this.createItems(0, 30));
+        writer.update(executionContext);
+        writer.close();
+
+        writer = this.createWriter(file, DefaultExcelItemWriter.OUTPUT_EXTENSION_XLSX);
+        writer.open(executionContext);
+        writer.write(this.createItems(30, 10));
+        writer.update(executionContext);
+        // the JVM could die here, the file written by the previous execution has to be readable
+        this.verifyRows(file, 0, 30);
+        writer.close();
+
+        this.verifyRows(file, 0, 40);
+        assertEquals(1, file.getParentFile().list().length);
+    }
+
+    @Test(expected = ItemStreamException.class)
+    public void failRestartWhenCommittedRowsAreMissing() throws Exception {
+        final File file = this.folder.newFile("items.xls");
+        final ExecutionContext executionContext = new ExecutionContext();
+        final DefaultExcelItemWriter<Item> writer = this.createWriter(file, DefaultExcelItemWriter.OUTPUT_EXTENSION_XLS);
+        writer.open(executionContext);
+        writer.write(this.createItems(0, 30));
+        writer.close();
+
+        // the rows committed after the workbook was written are lost with the JVM
+        executionContext.putInt("DefaultExcelItemWriter.rows.written", 50);
+        this.createWriter(file, DefaultExcelItemWriter.OUTPUT_EXTENSION_XLS).open(executionContext);
+    }
+
+    private void verifyRestart(final String extension, final int rowAccessWindowSize) throws Exception {
+        final File file = this.folder.newFile("items." + extension);
+        final ExecutionContext executionContext = new ExecutionContext();
+        DefaultExcelItemWriter<Item> writer = this.createWriter(file, extension);
+        writer.setRowAccessWindowSize(rowAccessWindowSize);
+        writer.open(executionContext);
+        writer.write(this.createItems(0, 30));
+        writer.update(executionContext);
+        // this chunk fails and is rolled back, the step closes the writer
+        this.writeInTransaction(writer, this.createItems(30, 30), true);
+        writer.close();
+
+        writer = this.createWriter(file, extension);
+        writer.setRowAccessWindowSize(rowAccessWindowSize);
+        writer.open(executionContext);
+        writer.write(this.createItems(30, 40));
+        writer.update(executionContext);
+        writer.close();
+
+        assertEquals(70, executionContext.getInt("DefaultExcelItemWriter.rows.written"));
+        this.verifyRows(file, 0, 70);
+    }
+
+    @Test
+    public void discardRowsOfRolledBackChunks() throws Exception {
+        this.verifyRollback(DefaultExcelItemWriter.OUTPUT_EXTENSION_XLS, 0);
+    }
+
+    @Test
+    public void discardRowsOfRolledBackChunksOfStreamingWorkbook() throws Exception {
+        this.verifyRollback(DefaultExcelItemWriter.OUTPUT_EXTENSION_XLSX, 10);
+    }
+
+    private void verifyRollback(final String extension, final int rowAccessWindowSize) throws Exception {
+        final File file = this.folder.newFile("items." + extension);
+        final DefaultExcelItemWriter<Item> writer = this.createWriter(file, extension);
+        writer.setRowAccessWindowSize(rowAccessWindowSize);
+        writer.open(new ExecutionContext());
+        this.writeInTransaction(writer, this.createItems(0, 30), false);
+        // the chunk is written, but the transaction is rolled back
+        this.writeInTransaction(writer, this.createItems(30, 30), true);
+        // the chunk fails halfway through writing its rows
+        final List<Item> failing = this.createItems(30, 30);
+        failing.set(15, null);
+        try {
+            this.writeInTransaction(writer, failing, false);
+            fail("The chunk with a null item should fail");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        this.writeInTransaction(writer, this.createItems(30, 30), false);
+        // the writer is closed before the transaction of the last chunk completes
+        new TransactionTemplate(new ResourcelessTransactionManager()).execute(new TransactionCallbackWithoutResult() {
+            @Override
+            protected void doInTransactionWithoutResult(final TransactionStatus status) {
+                try {
+                    writer.write(DefaultExcelItemWriterTests.this.createItems(60, 10));
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+                writer.close();
+            }
+        });
+
+        this.verifyRows(file, 0, 60);
+    }
+
+    private void writeInTransaction(final DefaultExcelItemWriter<Item> writer, final List<Item> items,
+                                    final boolean rollback) {
+        new TransactionTemplate(new ResourcelessTransactionManager()).execute(new TransactionCallbackWithoutResult() {
+            @Override
+            protected void doInTransactionWithoutResult(final TransactionStatus status) {
+                try {
+                    writer.write(items);
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+                if (rollback) {
+                    status.setRollbackOnly();
+                }
+            }
+        });
+    }
+
+    private DefaultExcelItemWriter<Item> createWriter(final File file, final String extension) {
+        final DefaultExcelItemWriter<Item> writer = new DefaultExcelItemWriter<Item>();
+        writer.setOutputExtension(extension);
+        writer.setResource(new FileSystemResource(file));
+        return writer;
+    }
+
+    private List<Item> createItems(final int first, final int count) {
+        final List<Item> items = new ArrayList<Item>();
+        for (int i = first; i < first + count; i++) {
+            items.add(new Item("item " + i, i));
+        }
+        return items;
+    }
+
+    private void verifyRows(final File file, final int first, final int count) throws Exception {
+        final PoiItemReader<String[]> reader = new PoiItemReader<String[]>();
+        reader.setResource(new FileSystemResource(file));
+        reader.setRowMapper(new PassThroughRowMapper());
+        reader.afterPropertiesSet();
+        reader.open(new ExecutionContext());
+        try {
+            final List<String[]> rows = new ArrayList<String[]>();
+            String[] row;
+            while ((row = reader.read()) != null) {
+                rows.add(row);
+            }
+            assertEquals(count + 1, rows.size());
+            assertArrayEquals(new String[]{"name", "quantity"}, rows.get(0));
+            for (int i = 0; i < count; i++) {
+                assertArrayEquals(new String[]{"item " + (first + i), String.valueOf(first + i)}, rows.get(i + 1));
+            }
+        } finally {
+            reader.close();
+        }
+    }
+
+    private static class DatedItem {
+
+        private final String name;
+        private final Date date;
+
+        private DatedItem(final String name, final Date date) {
+            this.name = name;
+            this.date = date;
+        }
+    }
+
+    private static class AnnotatedItem {
+
+        @DateTimeFormat(pattern = "dd.MM.yyyy")
+        private final Date formatted;
+        @DateTimeFormat
+        private final Date defaultFormat;
+
+        private AnnotatedItem(final Date date) {
+            this.formatted = date;
+            this.defaultFormat = date;
+        }
+    }
+
+    private static class TypedItem {
+
+        private final long count;
+        private final double price;
+        private final boolean active;
+        private final Long total;
+        private final Float rate;
+        private final BigDecimal amount;
+        private final Object code;
+
+        private TypedItem(final long count, final double price, final boolean active, final Long total,
+                          final Float rate, final BigDecimal amount, final Object code) {
+            this.count = count;
+            this.price = price;
+            this.active = active;
+            this.total = total;
+            this.rate = rate;
+            this.amount = amount;
+            this.code = code;
+        }
+    }
+
+    private static class Item {
+
+        private final String name;
+        private final int quantity;
+
+        private Item(final String name, final int quantity) {
+            this.name = name;
+            this.quantity = quantity;
+        }
+    }
+}
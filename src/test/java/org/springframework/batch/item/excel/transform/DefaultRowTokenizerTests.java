@@ -0,0 +1,52 @@
+package org.springframework.batch.item.excel.transform;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.batch.item.excel.Sheet;
+import org.springframework.batch.item.file.transform.FieldSet;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(MockitoJUnitRunner.class)
+public class DefaultRowTokenizerTests {
+
+    @Mock
+    private Sheet sheet;
+
+    private final DefaultRowTokenizer tokenizer = new DefaultRowTokenizer();
+
+    @Before
+    public void setup() {
+        final Map<String, String> mappings = new HashMap<String, String>();
+        mappings.put("with spaces", "noSpaces");
+        final MappingColumnToAttributeConverter converter = new MappingColumnToAttributeConverter();
+        converter.setMappings(mappings);
+        this.tokenizer.setConverter(converter);
+
+        final String[] header = {"with spaces", "other"};
+        Mockito.when(this.sheet.getHeader()).thenReturn(header);
+        Mockito.when(this.sheet.getNumberOfColumns()).thenReturn(2);
+        Mockito.when(this.sheet.getName()).thenReturn("sheet");
+    }
+
+    @Test
+    public void headerIsConvertedOncePerSheet() {
+        final FieldSet first = this.tokenizer.tokenize(this.sheet, new String[]{"a", "b"});
+        final FieldSet second = this.tokenizer.tokenize(this.sheet, new String[]{"c"});
+
+        assertArrayEquals(new String[]{"noSpaces", "other"}, first.getNames());
+        assertEquals("a", first.readString("noSpaces"));
+        assertEquals("c", second.readString("noSpaces"));
+        Mockito.verify(this.sheet, Mockito.times(1)).getHeader();
+        Mockito.verify(this.sheet, Mockito.times(1)).getNumberOfColumns();
+        assertArrayEquals(new String[]{"with spaces", "other"}, this.sheet.getHeader());
+    }
+}
@@ -79,4 +79,15 @@ public class JxlUtilsTests {
         assertEquals("Input and Output row should be equal", row.length, values.length);
     }
 
+    /**
+     * Test the {@link JxlUtils#extractContents(jxl.Cell[], String[])} method.
+     */
+    @Test
+    public void extractContentReusesBufferOfSameLength() {
+        final String[] buffer = new String[3];
+        Assert.assertSame(buffer, JxlUtils.extractContents(new Cell[] {cell1, cell2, cell3}, buffer));
+        Assert.assertArrayEquals(new String[] {"foo", null, null}, buffer);
+        Assert.assertNotSame(buffer, JxlUtils.extractContents(new Cell[] {cell1}, buffer));
+    }
+
 }